@@ -0,0 +1,104 @@
+package com.similarweb.benchmark;
+
+import com.similarweb.client.SWApi;
+import com.similarweb.client.SimilarWebApiClient;
+import com.similarweb.config.SimilarWebClientConfig;
+import com.similarweb.model.SIMILARWEB_METRICS;
+import com.similarweb.model.request.SwTrafficRequest;
+import com.similarweb.model.unified.SwResponse;
+import com.similarweb.service.SimilarWebService;
+import feign.Logger;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end throughput of the client stack (rate limiter, retryer, OkHttp, decoding and wrapping) against a local
+ * {@link MockWebServer}, so that the measurement is the cost of the client rather than of the network.
+ * The rate limit is raised far above the achievable throughput and every call asks for a different domain,
+ * so neither throttling nor coalescing kicks in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class ClientBenchmark {
+    @Param({"31", "1095"})
+    public int points;
+
+    private final AtomicLong domains = new AtomicLong();
+    private MockWebServer server;
+    private SWApi swApi;
+    private SimilarWebService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String body = Payloads.website("visits", points);
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                return new MockResponse().setResponseCode(200).setHeader("Content-Type", "application/json").setBody(body);
+            }
+        });
+        server.start();
+
+        SimilarWebClientConfig config = SimilarWebClientConfig.builder()
+                .similarWebUrl(server.url("").toString().replaceAll("/$", ""))
+                .logLevel(Logger.Level.NONE)
+                .limitForPeriod(1_000_000)
+                .build();
+        swApi = SimilarWebApiClient.getSwClient(config);
+        service = SimilarWebService.getInstance(config);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Benchmark
+    public SwResponse swApi() {
+        return swApi.getWebsiteMetric("key", SIMILARWEB_METRICS.VISITS, "2020-01", "2022-12", "world", "daily", false, nextDomain());
+    }
+
+    @Benchmark
+    public SwResponse service() {
+        return service.getTotalTrafficAndEngagement(SwTrafficRequest.builder()
+                .apiKey("key")
+                .startDate("2020-01")
+                .endDate("2022-12")
+                .country("world")
+                .granularity("daily")
+                .domain(nextDomain())
+                .build());
+    }
+
+    private String nextDomain() {
+        return "example" + domains.incrementAndGet() + ".com";
+    }
+}
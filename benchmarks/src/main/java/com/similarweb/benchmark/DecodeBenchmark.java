@@ -0,0 +1,86 @@
+package com.similarweb.benchmark;
+
+import com.similarweb.client.SwResponseDecoder;
+import com.similarweb.model.segment.SegmentResponse;
+import com.similarweb.model.traffic_and_engagement.visits.Visits;
+import com.similarweb.model.unified.SwResponse;
+import feign.Request;
+import feign.Response;
+import feign.jackson.JacksonDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding cost of a response body: the DTOs produced by {@link JacksonDecoder} against the {@link SwResponse}
+ * produced by {@link SwResponseDecoder}. Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecodeBenchmark {
+    /**
+     * Number of daily points: one month, one year and three years.
+     */
+    @Param({"31", "365", "1095"})
+    public int points;
+
+    private final JacksonDecoder jacksonDecoder = new JacksonDecoder();
+    private final SwResponseDecoder swResponseDecoder = new SwResponseDecoder();
+    private final Request request = Request.create(Request.HttpMethod.GET, "https://api.similarweb.com/v1/website",
+            Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+
+    private byte[] visits;
+    private byte[] segments;
+
+    @Setup
+    public void setUp() {
+        visits = Payloads.website("visits", points).getBytes(StandardCharsets.UTF_8);
+        segments = Payloads.segment(points).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object visitsToDto() throws IOException {
+        return jacksonDecoder.decode(response(visits), Visits.class);
+    }
+
+    @Benchmark
+    public Object visitsToSwResponse() throws IOException {
+        return swResponseDecoder.decode(response(visits), SwResponse.class);
+    }
+
+    @Benchmark
+    public Object segmentsToDto() throws IOException {
+        return jacksonDecoder.decode(response(segments), SegmentResponse.class);
+    }
+
+    @Benchmark
+    public Object segmentsToSwResponse() throws IOException {
+        return swResponseDecoder.decode(response(segments), SwResponse.class);
+    }
+
+    private Response response(byte[] body) {
+        return Response.builder()
+                .status(200)
+                .headers(Collections.emptyMap())
+                .request(request)
+                .body(body)
+                .build();
+    }
+}
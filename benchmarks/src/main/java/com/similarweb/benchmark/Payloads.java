@@ -0,0 +1,54 @@
+package com.similarweb.benchmark;
+
+import java.time.LocalDate;
+
+/**
+ * Generates response bodies shaped like the ones returned by the SimilarWeb API.
+ */
+final class Payloads {
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    private Payloads() {
+    }
+
+    /**
+     * @param field  The name of the data array and of the value field, e.g. {@code visits} or {@code unique_visitors}.
+     * @param points The number of daily points.
+     * @return A website endpoint response body.
+     */
+    static String website(String field, int points) {
+        StringBuilder json = new StringBuilder(64 * points + 512)
+                .append("{\"meta\":{\"request\":{\"granularity\":\"Daily\",\"main_domain_only\":false,\"mtd\":true,")
+                .append("\"format\":\"json\",\"domain\":\"example.com\",\"start_date\":\"").append(START)
+                .append("\",\"end_date\":\"").append(START.plusDays(points - 1L))
+                .append("\",\"country\":\"world\"},\"status\":\"Success\",\"last_updated\":\"2023-05-31\"},\"")
+                .append(field).append("\":[");
+        for (int i = 0; i < points; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"date\":\"").append(START.plusDays(i)).append("\",\"").append(field).append("\":")
+                    .append(1_000_000 + i * 37.25).append('}');
+        }
+
+        return json.append("]}").toString();
+    }
+
+    /**
+     * @param points The number of daily points, every tenth of which has low confidence and no value.
+     * @return A segment endpoint response body.
+     */
+    static String segment(int points) {
+        StringBuilder json = new StringBuilder(80 * points + 64).append("{\"segments\":[");
+        for (int i = 0; i < points; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"date\":\"").append(START.plusDays(i)).append("\",\"visits\":")
+                    .append(i % 10 == 0 ? "null" : String.valueOf(50_000 + i * 3.5))
+                    .append(",\"confidence\":\"").append(i % 10 == 0 ? "low" : "high").append("\"}");
+        }
+
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.similarweb.benchmark;
+
+import com.similarweb.client.SwResponseDecoder;
+import com.similarweb.model.SIMILARWEB_METRICS;
+import com.similarweb.model.unified.SwResponse;
+import com.similarweb.service.ResponseWrapper;
+import feign.Request;
+import feign.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ResponseWrapper#named(SwResponse, String)}, which hands out the response decoded by the client for
+ * every {@link SIMILARWEB_METRICS} value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WrapBenchmark {
+    /**
+     * Left empty so that JMH runs every constant of the enum.
+     */
+    @Param
+    public SIMILARWEB_METRICS metric;
+
+    @Param({"365", "1095"})
+    public int points;
+
+    private SwResponse response;
+
+    @Setup
+    public void setUp() throws IOException {
+        Request request = Request.create(Request.HttpMethod.GET,
+                "https://api.similarweb.com/v1/website/example.com/" + metric.getPath(), Collections.emptyMap(), null,
+                StandardCharsets.UTF_8, null);
+        response = (SwResponse) new SwResponseDecoder().decode(Response.builder()
+                .status(200)
+                .headers(Collections.emptyMap())
+                .request(request)
+                .body(Payloads.website(metric.getField(), points).getBytes(StandardCharsets.UTF_8))
+                .build(), SwResponse.class);
+    }
+
+    @Benchmark
+    public SwResponse wrap() {
+        return ResponseWrapper.named(response, metric.getAlias());
+    }
+}
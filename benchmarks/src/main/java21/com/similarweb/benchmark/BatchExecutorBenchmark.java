@@ -0,0 +1,117 @@
+package com.similarweb.benchmark;
+
+import com.similarweb.config.SimilarWebClientConfig;
+import com.similarweb.model.request.SwTrafficRequest;
+import com.similarweb.model.unified.BatchResult;
+import com.similarweb.service.BatchSimilarWebService;
+import com.similarweb.service.SimilarWebService;
+import feign.Logger;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Batch throughput on a platform thread pool versus one virtual thread per request, against a local
+ * {@link MockWebServer} answering after a fixed latency. With as many platform threads as in-flight requests, both
+ * should be bound by the latency; the difference is the cost of the threads themselves as parallelism grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class BatchExecutorBenchmark {
+    private static final int REQUESTS = 1024;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"64", "512"})
+    public int parallelism;
+
+    @Param({"20"})
+    public int latencyMillis;
+
+    private final AtomicLong domains = new AtomicLong();
+    private MockWebServer server;
+    private ExecutorService executor;
+    private BatchSimilarWebService batch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String body = Payloads.website("visits", 12);
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                return new MockResponse().setResponseCode(200).setHeader("Content-Type", "application/json").setBody(body)
+                        .setHeadersDelay(latencyMillis, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+
+        SimilarWebClientConfig config = SimilarWebClientConfig.builder()
+                .similarWebUrl(server.url("").toString().replaceAll("/$", ""))
+                .logLevel(Logger.Level.NONE)
+                .limitForPeriod(1_000_000)
+                .maxRequests(parallelism)
+                .maxRequestsPerHost(parallelism)
+                .maxIdleConnections(parallelism)
+                .http2Enabled(false)
+                .build();
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(parallelism);
+        batch = new BatchSimilarWebService(SimilarWebService.getInstance(config), executor, parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        server.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public long fetch() {
+        List<SwTrafficRequest> requests = IntStream.range(0, REQUESTS)
+                .mapToObj(i -> SwTrafficRequest.builder()
+                        .apiKey("key")
+                        .startDate("2022-01")
+                        .endDate("2022-12")
+                        .country("world")
+                        .granularity("monthly")
+                        .domain("example" + domains.incrementAndGet() + ".com")
+                        .build())
+                .collect(Collectors.toList());
+
+        return batch.getTotalTrafficAndEngagement(requests).filter(BatchResult::isSuccess).count();
+    }
+}
@@ -0,0 +1,111 @@
+package com.similarweb.benchmark;
+
+import com.similarweb.config.SimilarWebClientConfig;
+import com.similarweb.model.request.SwTrafficRequest;
+import com.similarweb.model.unified.BatchResult;
+import com.similarweb.service.BatchSimilarWebService;
+import feign.Logger;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs a batch on virtual threads through the full blocking stack (caching, coalescing, permit scheduling, retries
+ * with backoff, OkHttp over HTTP/1.1, decoding) while recording {@code jdk.VirtualThreadPinned} events, and exits with
+ * status 1 if any virtual thread pinned its carrier.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.similarweb.benchmark.PinningCheck
+ * </pre>
+ */
+public final class PinningCheck {
+    private static final int REQUESTS = 2000;
+    private static final int PARALLELISM = 256;
+    private static final int MAX_FRAMES = 12;
+
+    private PinningCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String body = Payloads.website("visits", 12);
+        AtomicLong served = new AtomicLong();
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                // Every tenth response fails, so that retries and their backoff are part of the run
+                if (served.incrementAndGet() % 10 == 0) {
+                    return new MockResponse().setResponseCode(503);
+                }
+                return new MockResponse().setResponseCode(200).setHeader("Content-Type", "application/json").setBody(body)
+                        .setHeadersDelay(10, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+
+        SimilarWebClientConfig config = SimilarWebClientConfig.builder()
+                .similarWebUrl(server.url("").toString().replaceAll("/$", ""))
+                .logLevel(Logger.Level.NONE)
+                .limitForPeriod(1_000)
+                .retryBaseDelay(5)
+                .cacheEnabled(true)
+                .http2Enabled(false)
+                .batchParallelism(PARALLELISM)
+                .batchVirtualThreads(true)
+                .build();
+        BatchSimilarWebService batch = BatchSimilarWebService.create(config);
+
+        // Half of the domains repeat, so that cache hits and coalesced calls are part of the run
+        List<SwTrafficRequest> requests = IntStream.range(0, REQUESTS)
+                .mapToObj(i -> SwTrafficRequest.builder()
+                        .apiKey("key")
+                        .startDate("2022-01")
+                        .endDate("2022-12")
+                        .country("world")
+                        .granularity("monthly")
+                        .domain("example" + (i % (REQUESTS / 2)) + ".com")
+                        .build())
+                .collect(Collectors.toList());
+
+        Queue<RecordedEvent> pinned = new ConcurrentLinkedQueue<>();
+        long succeeded;
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            succeeded = batch.getTotalTrafficAndEngagement(requests).filter(BatchResult::isSuccess).count();
+            recording.stop();
+        } finally {
+            server.shutdown();
+        }
+
+        System.out.printf("%d/%d requests succeeded, %d pinned events%n", succeeded, REQUESTS, pinned.size());
+        for (RecordedEvent event : pinned) {
+            System.out.printf("Pinned for %s:%n", event.getDuration());
+            if (event.getStackTrace() == null) {
+                continue;
+            }
+            List<RecordedFrame> frames = event.getStackTrace().getFrames();
+            frames.stream().limit(MAX_FRAMES).forEach(frame -> System.out.printf("    at %s.%s(line %d)%n",
+                    frame.getMethod().getType().getName(), frame.getMethod().getName(), frame.getLineNumber()));
+        }
+
+        System.exit(pinned.isEmpty() ? 0 : 1);
+    }
+}
@@ -0,0 +1,116 @@
+package com.similarweb.client;
+
+import com.similarweb.metrics.SwMetrics;
+import feign.Response;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adjusts the {@code limitForPeriod} of rate limiters from upstream feedback, AIMD-style.
+ *
+ * A throttled response (status 429, or a remaining-quota header of zero) halves the limit, down to the configured
+ * minimum. Once a full limit's worth of consecutive requests succeeded, the limit grows by one, up to the configured
+ * maximum. The current limit of each limiter is visible through its {@link RateLimiter#getRateLimiterConfig()}, and
+ * every change is reported to {@link SwMetrics#recordRateLimit(String, int)}.
+ */
+public class AdaptiveRateController {
+    private static Logger log = LoggerFactory.getLogger(AdaptiveRateController.class);
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final int minLimitForPeriod;
+    private final int maxLimitForPeriod;
+    private final String remainingHeader;
+    private final SwMetrics metrics;
+    private final ConcurrentMap<String, AtomicInteger> successStreaks = new ConcurrentHashMap<>();
+
+    public AdaptiveRateController(int minLimitForPeriod, int maxLimitForPeriod, String remainingHeader) {
+        this(minLimitForPeriod, maxLimitForPeriod, remainingHeader, SwMetrics.NOOP);
+    }
+
+    public AdaptiveRateController(int minLimitForPeriod, int maxLimitForPeriod, String remainingHeader,
+                                  SwMetrics metrics) {
+        if (minLimitForPeriod < 1 || maxLimitForPeriod < minLimitForPeriod) {
+            throw new IllegalArgumentException(String.format("Invalid adaptive limits: min %d, max %d",
+                    minLimitForPeriod, maxLimitForPeriod));
+        }
+        this.minLimitForPeriod = minLimitForPeriod;
+        this.maxLimitForPeriod = maxLimitForPeriod;
+        this.remainingHeader = remainingHeader;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Feeds the outcome of a request into the limiter it was admitted by.
+     *
+     * @param rateLimiter The limiter which admitted the request.
+     * @param response    The upstream response.
+     */
+    public void onResponse(RateLimiter rateLimiter, Response response) {
+        if (response.status() == TOO_MANY_REQUESTS || isQuotaExhausted(response.headers())) {
+            decrease(rateLimiter);
+        } else if (response.status() >= 200 && response.status() < 300) {
+            increase(rateLimiter);
+        }
+    }
+
+    private void decrease(RateLimiter rateLimiter) {
+        synchronized (rateLimiter) {
+            successStreak(rateLimiter).set(0);
+            int current = rateLimiter.getRateLimiterConfig().getLimitForPeriod();
+            int next = Math.max(minLimitForPeriod, current / 2);
+            if (next != current) {
+                log.info("[AdaptiveRateController] | Throttled, lowering {} from {} to {} per period", rateLimiter.getName(), current, next);
+                rateLimiter.changeLimitForPeriod(next);
+                metrics.recordRateLimit(rateLimiter.getName(), next);
+            }
+        }
+    }
+
+    private void increase(RateLimiter rateLimiter) {
+        int current = rateLimiter.getRateLimiterConfig().getLimitForPeriod();
+        if (current >= maxLimitForPeriod || successStreak(rateLimiter).incrementAndGet() < current) {
+            return;
+        }
+
+        synchronized (rateLimiter) {
+            successStreak(rateLimiter).set(0);
+            int latest = rateLimiter.getRateLimiterConfig().getLimitForPeriod();
+            int next = Math.min(maxLimitForPeriod, latest + 1);
+            if (next != latest) {
+                log.debug("[AdaptiveRateController] | Raising {} from {} to {} per period", rateLimiter.getName(), latest, next);
+                rateLimiter.changeLimitForPeriod(next);
+                metrics.recordRateLimit(rateLimiter.getName(), next);
+            }
+        }
+    }
+
+    private AtomicInteger successStreak(RateLimiter rateLimiter) {
+        return successStreaks.computeIfAbsent(rateLimiter.getName(), name -> new AtomicInteger());
+    }
+
+    private boolean isQuotaExhausted(Map<String, Collection<String>> headers) {
+        if (remainingHeader == null) {
+            return false;
+        }
+
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (remainingHeader.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                try {
+                    return Long.parseLong(header.getValue().iterator().next().trim()) <= 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,121 @@
+package com.similarweb.client;
+
+import com.similarweb.config.SimilarWebClientConfig;
+import com.similarweb.metrics.SwMetrics;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves the {@link RateLimiter} of each API key, so that every key is throttled against its own quota.
+ *
+ * Limiters are registered in a {@link RateLimiterRegistry} under a name derived from a fingerprint of the key, so the
+ * key itself never shows up in limiter names. The limit of a key is taken from
+ * {@link SimilarWebClientConfig#getLimitForPeriodByApiKey()}, falling back to
+ * {@link SimilarWebClientConfig#getLimitForPeriod()}. Requests without a key share the default limiter.
+ *
+ * If adaptive rate limiting is enabled, the limits are then tuned from upstream responses by an
+ * {@link AdaptiveRateController}. The limit of each limiter is reported to {@link SwMetrics} when it is first used and
+ * whenever it changes. Clients sharing a quota must share one instance, so that they adapt the limits together.
+ */
+public class ApiKeyRateLimiters {
+    private static final String SW_API_RL = "similarWebRateLimiter";
+    private static final String API_KEY_PARAM = "api_key=";
+    private static final String NO_API_KEY = "";
+
+    private final RateLimiterRegistry registry;
+    private final SimilarWebClientConfig config;
+    private final AdaptiveRateController adaptiveRateController;
+    private final ConcurrentMap<String, RateLimiter> byApiKey = new ConcurrentHashMap<>();
+
+    public ApiKeyRateLimiters(RateLimiterRegistry registry, SimilarWebClientConfig config) {
+        this.registry = registry;
+        this.config = config;
+        this.adaptiveRateController = config.isAdaptiveRateLimitEnabled()
+                ? new AdaptiveRateController(config.getAdaptiveMinLimitForPeriod(), config.getAdaptiveMaxLimitForPeriod(),
+                config.getRateLimitRemainingHeader(), config.getMetrics())
+                : null;
+    }
+
+    /**
+     * @param request The outgoing request.
+     * @return The limiter of the API key in the request URL.
+     */
+    public RateLimiter forRequest(Request request) {
+        return forApiKey(apiKeyOf(request.url()));
+    }
+
+    /**
+     * @param apiKey The API key, or null.
+     * @return The limiter of the API key, or the default limiter if the key is null or empty.
+     */
+    public RateLimiter forApiKey(String apiKey) {
+        return byApiKey.computeIfAbsent(apiKey == null ? NO_API_KEY : apiKey, key -> {
+            RateLimiter rateLimiter = key.isEmpty()
+                    ? registry.rateLimiter(SW_API_RL, rateLimiterConfig(config.getLimitForPeriod()))
+                    : registry.rateLimiter(SW_API_RL + "-" + fingerprint(key), rateLimiterConfig(
+                    config.getLimitForPeriodByApiKey().getOrDefault(key, config.getLimitForPeriod())));
+            config.getMetrics().recordRateLimit(rateLimiter.getName(),
+                    rateLimiter.getRateLimiterConfig().getLimitForPeriod());
+            return rateLimiter;
+        });
+    }
+
+    /**
+     * Reports the upstream response to a request admitted by the given limiter.
+     * Does nothing unless adaptive rate limiting is enabled.
+     *
+     * @param rateLimiter The limiter which admitted the request.
+     * @param response    The upstream response.
+     */
+    public void onResponse(RateLimiter rateLimiter, Response response) {
+        if (adaptiveRateController != null) {
+            adaptiveRateController.onResponse(rateLimiter, response);
+        }
+    }
+
+    private RateLimiterConfig rateLimiterConfig(int limitForPeriod) {
+        return RateLimiterConfig.custom()
+                .limitForPeriod(limitForPeriod)
+                .limitRefreshPeriod(Duration.ofSeconds(config.getRefreshPeriod()))
+                .timeoutDuration(Duration.ofMillis(config.getTimeoutDuration()))
+                .build();
+    }
+
+    private static String apiKeyOf(String url) {
+        int queryStart = url.indexOf('?');
+        if (queryStart < 0) {
+            return null;
+        }
+
+        for (String param : url.substring(queryStart + 1).split("&")) {
+            if (param.startsWith(API_KEY_PARAM)) {
+                return param.substring(API_KEY_PARAM.length());
+            }
+        }
+
+        return null;
+    }
+
+    private static String fingerprint(String apiKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
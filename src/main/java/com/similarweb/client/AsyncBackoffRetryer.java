@@ -0,0 +1,67 @@
+package com.similarweb.client;
+
+import com.similarweb.config.SimilarWebClientConfig;
+import com.similarweb.model.request.RequestPriority;
+import feign.RetryableException;
+import feign.Retryer;
+
+/**
+ * The {@link BackoffRetryer} of the async client, which retries without blocking a thread.
+ *
+ * AsyncFeign clones the retryer on the calling thread, and after a failure calls
+ * {@link #continueOrPropagate(RetryableException)} and dispatches the next attempt right away, on the thread which
+ * completed the failed one. Instead of sleeping there, this retryer hands the backoff delay and the
+ * {@link RequestPriority} of the original call over to the {@link RateLimitedAsyncClient} through a thread local,
+ * see {@link #takePending()}. The client then queues the next attempt for its permit once the delay has passed, with
+ * the priority of the original call rather than that of the completing thread.
+ */
+public class AsyncBackoffRetryer extends BackoffRetryer {
+    private static final ThreadLocal<Pending> PENDING = new ThreadLocal<>();
+
+    private final RequestPriority priority;
+
+    public AsyncBackoffRetryer(SimilarWebClientConfig config) {
+        super(config);
+        this.priority = RequestPriority.INTERACTIVE;
+    }
+
+    private AsyncBackoffRetryer(AsyncBackoffRetryer settings, RequestPriority priority) {
+        super(settings);
+        this.priority = priority;
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        PENDING.set(new Pending(nextAttemptDelay(e), priority));
+    }
+
+    /**
+     * Called once per call, on the calling thread, so that retries keep the priority of the call.
+     */
+    @Override
+    public Retryer clone() {
+        return new AsyncBackoffRetryer(this, PriorityContext.current());
+    }
+
+    /**
+     * @return The retry about to be dispatched on this thread, if any, which is cleared.
+     */
+    static Pending takePending() {
+        Pending pending = PENDING.get();
+        PENDING.remove();
+        return pending;
+    }
+
+    /**
+     * The delay before a retry, in ms, and the priority of its call.
+     */
+    static final class Pending {
+        final long delay;
+        final RequestPriority priority;
+
+        private Pending(long delay, RequestPriority priority) {
+            this.delay = delay;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.similarweb.client;
+
+import com.similarweb.model.SIMILARWEB_METRICS;
+import com.similarweb.model.unified.SwResponse;
+import feign.Param;
+import feign.RequestLine;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link SWApi}. Every endpoint returns a {@link CompletableFuture} which is completed
+ * on the OkHttp dispatcher once the response has been decoded.
+ */
+public interface AsyncSWApi {
+    /**
+     * Returns the given metric for a given domain.
+     *
+     * @see SWApi#getWebsiteMetric(String, SIMILARWEB_METRICS, String, String, String, String, boolean, String)
+     * */
+    @RequestLine("GET /v1/website/{DOMAIN}/{METRIC}?api_key={API_KEY}&start_date={START_DATE}&end_date={END_DATE}" +
+            "&country={COUNTRY}&granularity={GRANULARITY}&main_domain_only={MAIN_DOMAIN_ONLY}&format=json&show_verified=false&mtd=true")
+    CompletableFuture<SwResponse> getWebsiteMetric(@Param("API_KEY") String api_key,
+                                        @Param(value = "METRIC", expander = SWApi.MetricPath.class) SIMILARWEB_METRICS metric,
+                                        @Param("START_DATE") String startDate,
+                                        @Param("END_DATE") String endDate,
+                                        @Param("COUNTRY") String country,
+                                        @Param("GRANULARITY") String granularity,
+                                        @Param("MAIN_DOMAIN_ONLY") boolean isOnlyMainDomain,
+                                        @Param("DOMAIN") String domain);
+
+    @RequestLine("GET /v1/website/{DOMAIN}/{METRIC}?api_key={API_KEY}" +
+            "&country={COUNTRY}&granularity={GRANULARITY}&main_domain_only={MAIN_DOMAIN_ONLY}&format=json")
+    CompletableFuture<SwResponse> getWebsiteMetricLatest(@Param("API_KEY") String api_key,
+                                        @Param(value = "METRIC", expander = SWApi.MetricPath.class) SIMILARWEB_METRICS metric,
+                                        @Param("COUNTRY") String country,
+                                        @Param("GRANULARITY") String granularity,
+                                        @Param("MAIN_DOMAIN_ONLY") boolean isOnlyMainDomain,
+                                        @Param("DOMAIN") String domain);
+
+    @RequestLine("GET /v1/segment/{SEGMENT_ID}/traffic-and-engagement/query?api_key={API_KEY}&start_date={START_DATE}&end_date={END_DATE}&country={COUNTRY}" +
+            "&metrics=visits&granularity={GRANULARITY}&format=json&mtd=true")
+    CompletableFuture<SwResponse> getSegmentData(@Param("API_KEY") String api_key,
+                                   @Param("SEGMENT_ID") String segmentId,
+                                   @Param("START_DATE") String startDate,
+                                   @Param("END_DATE") String endDate,
+                                   @Param("COUNTRY") String country,
+                                   @Param("GRANULARITY") String granularity);
+
+}
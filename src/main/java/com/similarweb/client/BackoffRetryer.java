@@ -0,0 +1,123 @@
+package com.similarweb.client;
+
+import com.similarweb.config.SimilarWebClientConfig;
+import com.similarweb.metrics.SwMetrics;
+import feign.RetryableException;
+import feign.Retryer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link Retryer} using exponential backoff with decorrelated jitter.
+ *
+ * Each delay is drawn uniformly between the base delay and three times the previous delay, capped at the max delay,
+ * so concurrent workers do not retry in lockstep. A {@code Retry-After} sent by the server takes precedence over the
+ * computed delay. Retrying stops after the max number of attempts, or when the next attempt would start after the
+ * overall deadline, in which case the last exception is propagated. Each retry is reported to {@link SwMetrics}.
+ */
+public class BackoffRetryer implements Retryer {
+    private static Logger log = LoggerFactory.getLogger(BackoffRetryer.class);
+
+    private final int maxAttempts;
+    private final long baseDelay;
+    private final long maxDelay;
+    private final long deadline;
+    private final SwMetrics metrics;
+
+    private final long startedAt = System.currentTimeMillis();
+    private int attempt = 1;
+    private long previousDelay;
+
+    public BackoffRetryer(SimilarWebClientConfig config) {
+        this(config.getRetryMaxAttempts(), config.getRetryBaseDelay(), config.getRetryMaxDelay(), config.getRetryDeadline(),
+                config.getMetrics());
+    }
+
+    /**
+     * @param maxAttempts The max number of attempts, including the first one.
+     * @param baseDelay   The minimum delay between attempts, in ms.
+     * @param maxDelay    The maximum computed delay between attempts, in ms.
+     * @param deadline    The time after the first attempt past which no attempt is started, in ms.
+     */
+    public BackoffRetryer(int maxAttempts, long baseDelay, long maxDelay, long deadline) {
+        this(maxAttempts, baseDelay, maxDelay, deadline, SwMetrics.NOOP);
+    }
+
+    /**
+     * @param maxAttempts The max number of attempts, including the first one.
+     * @param baseDelay   The minimum delay between attempts, in ms.
+     * @param maxDelay    The maximum computed delay between attempts, in ms.
+     * @param deadline    The time after the first attempt past which no attempt is started, in ms.
+     * @param metrics     Receives a measurement for each retry.
+     */
+    public BackoffRetryer(int maxAttempts, long baseDelay, long maxDelay, long deadline, SwMetrics metrics) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.deadline = deadline;
+        this.metrics = metrics;
+        this.previousDelay = baseDelay;
+    }
+
+    /**
+     * Starts a new retry sequence with the settings of the given retryer.
+     *
+     * @param settings The retryer to take the settings from.
+     */
+    protected BackoffRetryer(BackoffRetryer settings) {
+        this(settings.maxAttempts, settings.baseDelay, settings.maxDelay, settings.deadline, settings.metrics);
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        long delay = nextAttemptDelay(e);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    /**
+     * Counts the failed attempt and computes the delay before the next one.
+     *
+     * @param e The failure of the last attempt.
+     * @return The delay before the next attempt, in ms.
+     * @throws RetryableException the given exception, if no attempt is left.
+     */
+    protected long nextAttemptDelay(RetryableException e) {
+        if (attempt >= maxAttempts) {
+            log.warn("[BackoffRetryer] | Giving up after {} attempts", attempt);
+            throw e;
+        }
+
+        long delay = nextDelay(e);
+        if (System.currentTimeMillis() + delay > startedAt + deadline) {
+            log.warn("[BackoffRetryer] | Giving up after {} attempts, next attempt would exceed the {} ms deadline", attempt, deadline);
+            throw e;
+        }
+
+        log.warn("[BackoffRetryer] | Attempt {} failed with status {}, retrying in {} ms", attempt, e.status(), delay);
+        metrics.recordRetry(MeteredClient.endpointOf(e.request()), Math.max(e.status(), 0));
+        attempt++;
+        return delay;
+    }
+
+    private long nextDelay(RetryableException e) {
+        if (e.retryAfter() != null) {
+            return Math.max(0, e.retryAfter().getTime() - System.currentTimeMillis());
+        }
+
+        long upper = Math.max(baseDelay, previousDelay * 3);
+        previousDelay = Math.min(maxDelay, ThreadLocalRandom.current().nextLong(baseDelay, upper + 1));
+        return previousDelay;
+    }
+
+    @Override
+    public Retryer clone() {
+        return new BackoffRetryer(this);
+    }
+}
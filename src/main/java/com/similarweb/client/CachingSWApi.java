@@ -0,0 +1,121 @@
+package com.similarweb.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.similarweb.config.SimilarWebClientConfig;
+import com.similarweb.metrics.SwMetrics;
+import com.similarweb.model.unified.Freshness;
+import com.similarweb.model.unified.SwResponse;
+import com.similarweb.util.SwDates;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * A {@link SWApi} which keeps responses in a size-bounded Caffeine cache keyed on the {@link SwApiCall}.
+ *
+ * Windows which ended before the current month never change, so they are kept for
+ * {@link SimilarWebClientConfig#getCacheHistoricalTtl()}. Windows reaching into the current month (the endpoints use
+ * {@code mtd=true}) and latest-data calls expire sooner, depending on how often data of their granularity is refreshed,
+ * unless their {@link Freshness} tells that no newer data is expected before then: they are then kept until it is, so
+ * no call is made while upstream cannot have anything new. Only a release cadence which was actually observed extends
+ * the TTL; the default cadence of a granularity, e.g. 28 days for monthly data, would keep month-to-date values for
+ * weeks.
+ *
+ * Every lookup is reported to {@link SwMetrics} as a hit or a miss of the {@code memory} cache.
+ *
+ * On a miss the upstream call runs outside of the cache, rather than as a Caffeine loader which would hold a map lock
+ * for the whole call and pin the carrier of a virtual thread. Concurrent misses for the same call are collapsed by a
+ * {@link CoalescingSWApi} below, if enabled.
+ */
+public class CachingSWApi extends ForwardingSWApi {
+    private static final String MONTHLY = "monthly";
+    private static final String CACHE_NAME = "memory";
+
+    private final Cache<SwApiCall, Object> cache;
+    private final SwMetrics metrics;
+
+    public CachingSWApi(SWApi delegate, SimilarWebClientConfig config) {
+        super(delegate);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getCacheMaximumSize())
+                .expireAfter(new GranularityExpiry(config))
+                .recordStats()
+                .build();
+        this.metrics = config.getMetrics();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> T invoke(SwApiCall call, Supplier<T> upstream) {
+        Object cached = cache.getIfPresent(call);
+        metrics.recordCacheAccess(CACHE_NAME, call.getEndpoint(), cached != null);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        T response = upstream.get();
+        if (response != null) {
+            cache.put(call, response);
+        }
+        return response;
+    }
+
+    /**
+     * @return A snapshot of the hit, miss and eviction counts of the cache.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Discards every cached response.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static class GranularityExpiry implements Expiry<SwApiCall, Object> {
+        private final long historicalTtl;
+        private final long currentMonthlyTtl;
+        private final long currentDailyTtl;
+
+        GranularityExpiry(SimilarWebClientConfig config) {
+            this.historicalTtl = Duration.ofMinutes(config.getCacheHistoricalTtl()).toNanos();
+            this.currentMonthlyTtl = Duration.ofMinutes(config.getCacheCurrentMonthlyTtl()).toNanos();
+            this.currentDailyTtl = Duration.ofMinutes(config.getCacheCurrentDailyTtl()).toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(@NotNull SwApiCall call, @NotNull Object response, long currentTime) {
+            if (!SwDates.isOpen(call.getEndDate())) {
+                return historicalTtl;
+            }
+
+            long ttl = MONTHLY.equalsIgnoreCase(call.getGranularity()) ? currentMonthlyTtl : currentDailyTtl;
+            Freshness freshness = response instanceof SwResponse ? ((SwResponse) response).getFreshness() : null;
+            if (freshness == null || !freshness.isCadenceObserved() || freshness.getNextUpdateExpected() == null) {
+                return ttl;
+            }
+
+            long untilNextUpdate = Duration.between(Instant.now(), freshness.getNextUpdateExpected()).toNanos();
+            return Math.max(ttl, Math.min(untilNextUpdate, historicalTtl));
+        }
+
+        @Override
+        public long expireAfterUpdate(@NotNull SwApiCall call, @NotNull Object response, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(call, response, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(@NotNull SwApiCall call, @NotNull Object response, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
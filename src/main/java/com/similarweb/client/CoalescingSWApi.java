@@ -0,0 +1,56 @@
+package com.similarweb.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * A {@link SWApi} which collapses identical concurrent calls into a single upstream call.
+ *
+ * The first caller for a given {@link SwApiCall} performs the call, every caller arriving while it is in flight waits
+ * for and shares its result, including a failure. Only one rate limiter permit is consumed per upstream call.
+ */
+public class CoalescingSWApi extends ForwardingSWApi {
+    private final ConcurrentMap<SwApiCall, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public CoalescingSWApi(SWApi delegate) {
+        super(delegate);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> T invoke(SwApiCall call, Supplier<T> upstream) {
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(call, leader);
+        if (existing != null) {
+            return (T) await(existing);
+        }
+
+        try {
+            T response = upstream.get();
+            leader.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(call, leader);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
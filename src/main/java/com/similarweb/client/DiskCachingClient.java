@@ -0,0 +1,120 @@
+package com.similarweb.client;
+
+import com.similarweb.metrics.SwMetrics;
+import com.similarweb.util.SwDates;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * A feign {@link Client} which serves responses for closed historical windows from a {@link DiskResponseStore}.
+ *
+ * The raw JSON body is stored under the request URL without the API key, which covers endpoint, domain, country,
+ * granularity and date range. Only successful GET responses whose {@code end_date} lies before the current month are
+ * stored, since those never change upstream. Everything else goes straight to the delegate.
+ * Lookups are reported to {@link SwMetrics} as hits or misses of the {@code disk} cache.
+ */
+public class DiskCachingClient implements Client {
+    private static Logger log = LoggerFactory.getLogger(DiskCachingClient.class);
+
+    private static final String API_KEY_PARAM = "api_key=";
+    private static final String END_DATE_PARAM = "end_date=";
+    private static final String CACHE_NAME = "disk";
+
+    private final Client delegate;
+    private final DiskResponseStore store;
+    private final SwMetrics metrics;
+
+    public DiskCachingClient(Client delegate, DiskResponseStore store, SwMetrics metrics) {
+        this.delegate = delegate;
+        this.store = store;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String key = cacheKey(request);
+        if (key == null) {
+            return delegate.execute(request, options);
+        }
+
+        Optional<byte[]> cached = store.get(key);
+        metrics.recordCacheAccess(CACHE_NAME, MeteredClient.endpointOf(request), cached.isPresent());
+        if (cached.isPresent()) {
+            log.debug("[DiskCachingClient] | Serving {} from disk", key);
+            return Response.builder()
+                    .status(200)
+                    .reason("OK")
+                    .headers(Collections.emptyMap())
+                    .request(request)
+                    .body(cached.get())
+                    .build();
+        }
+
+        Response response = delegate.execute(request, options);
+        if (response.status() != 200 || response.body() == null) {
+            return response;
+        }
+
+        byte[] body;
+        try (InputStream stream = response.body().asInputStream()) {
+            body = Util.toByteArray(stream);
+        }
+        store.put(key, body);
+
+        return response.toBuilder().body(body).build();
+    }
+
+    /**
+     * @return The store key of the request, or null if its response must not be stored. Requests whose end date
+     * cannot be parsed are not stored, and are left for upstream to reject.
+     */
+    private static String cacheKey(Request request) {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return null;
+        }
+
+        String url = request.url();
+        int queryStart = url.indexOf('?');
+        if (queryStart < 0) {
+            return null;
+        }
+
+        StringJoiner key = new StringJoiner("&", url.substring(0, queryStart) + "?", "");
+        String endDate = null;
+        for (String param : url.substring(queryStart + 1).split("&")) {
+            if (param.startsWith(API_KEY_PARAM)) {
+                continue;
+            }
+            if (param.startsWith(END_DATE_PARAM)) {
+                endDate = param.substring(END_DATE_PARAM.length());
+            }
+            key.add(param);
+        }
+
+        if (endDate == null || endDate.isEmpty() || isOpen(endDate)) {
+            return null;
+        }
+
+        return key.toString();
+    }
+
+    private static boolean isOpen(String endDate) {
+        try {
+            return SwDates.isOpen(endDate);
+        } catch (DateTimeException e) {
+            return true;
+        }
+    }
+}
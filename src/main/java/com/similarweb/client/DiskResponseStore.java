@@ -0,0 +1,366 @@
+package com.similarweb.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A persistent key/value store for raw response bodies, made of two files in a directory:
+ * <ul>
+ *     <li>{@code responses.dat}: an append-only log of {@code [key length][body length][key][body]} records.</li>
+ *     <li>{@code responses.idx}: an open-addressing hash table of {@code [key hash][record offset]} slots,
+ *     memory-mapped and probed in place.</li>
+ * </ul>
+ * Opening the store only maps the index, no entries are loaded. Entries are never removed, which suits responses
+ * for closed historical windows that never change upstream.
+ *
+ * A record is forced to disk before its index slot is published, so a crash cannot leave a slot pointing past the end
+ * of the data file. Records which are short or corrupt anyway, e.g. after the data file was truncated, are treated as
+ * misses and their slot is dropped.
+ */
+public class DiskResponseStore implements Closeable {
+    private static Logger log = LoggerFactory.getLogger(DiskResponseStore.class);
+
+    private static final String DATA_FILE = "responses.dat";
+    private static final String INDEX_FILE = "responses.idx";
+    private static final int MAGIC = 0x53574443; // "SWDC"
+    private static final int HEADER_SIZE = 16; // magic, capacity, size, reserved
+    private static final int SLOT_SIZE = 16; // hash, offset
+    private static final int RECORD_HEADER_SIZE = 8; // key length, body length
+    static final int INITIAL_CAPACITY = 1 << 16;
+    private static final double MAX_LOAD = 0.7;
+    private static final long DROPPED = -1; // offset of a dropped slot, which keeps its hash so probing goes on
+
+    private final Path directory;
+    private final FileChannel data;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MappedByteBuffer index;
+    private int capacity;
+    private int size;
+
+    private DiskResponseStore(Path directory, FileChannel data) {
+        this.directory = directory;
+        this.data = data;
+    }
+
+    /**
+     * Opens the store in the given directory, creating it if needed.
+     *
+     * @param directory The directory holding the store files.
+     * @return The opened store.
+     * @throws IOException if the files cannot be created or mapped, or the index is corrupt.
+     */
+    public static DiskResponseStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel data = FileChannel.open(directory.resolve(DATA_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        DiskResponseStore store = new DiskResponseStore(directory, data);
+
+        Path indexPath = directory.resolve(INDEX_FILE);
+        if (Files.exists(indexPath) && Files.size(indexPath) > 0) {
+            store.mapIndex(indexPath);
+        } else {
+            store.createIndex(indexPath, INITIAL_CAPACITY);
+        }
+
+        log.info("[DiskResponseStore] | Opened {} with {} entries", directory, store.size);
+        return store;
+    }
+
+    /**
+     * Looks up the body stored under the given key.
+     *
+     * @param key The key.
+     * @return The stored body, if any.
+     * @throws IOException if the data file cannot be read.
+     */
+    public Optional<byte[]> get(String key) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(keyBytes);
+
+        long corrupt;
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(hash, capacity);
+            while (true) {
+                long slotHash = index.getLong(slotPosition(slot));
+                if (slotHash == 0) {
+                    return Optional.empty();
+                }
+                if (slotHash == hash) {
+                    long offset = index.getLong(slotPosition(slot) + 8);
+                    try {
+                        byte[] body = readBody(offset, keyBytes);
+                        if (body != null) {
+                            return Optional.of(body);
+                        }
+                    } catch (CorruptRecordException e) {
+                        corrupt = offset;
+                        break;
+                    }
+                }
+                slot = (slot + 1) & (capacity - 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        log.warn("[DiskResponseStore] | Dropping corrupt record at offset {} for {}", corrupt, key);
+        lock.writeLock().lock();
+        try {
+            drop(hash, corrupt);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Stores the body under the given key, unless the key is already present.
+     *
+     * @param key  The key.
+     * @param body The body.
+     * @throws IOException if the store cannot be written.
+     */
+    public void put(String key, byte[] body) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(keyBytes);
+
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(hash, capacity);
+            while (true) {
+                long slotHash = index.getLong(slotPosition(slot));
+                if (slotHash == 0) {
+                    break;
+                }
+                if (slotHash == hash) {
+                    long offset = index.getLong(slotPosition(slot) + 8);
+                    try {
+                        if (readBody(offset, keyBytes) != null) {
+                            return;
+                        }
+                    } catch (CorruptRecordException e) {
+                        log.warn("[DiskResponseStore] | Dropping corrupt record at offset {} for {}", offset, key);
+                        index.putLong(slotPosition(slot) + 8, DROPPED);
+                        index.putInt(8, --size);
+                    }
+                }
+                slot = (slot + 1) & (capacity - 1);
+            }
+
+            long offset = append(keyBytes, body);
+            data.force(false);
+            index.putLong(slotPosition(slot) + 8, offset);
+            index.putLong(slotPosition(slot), hash);
+            index.putInt(8, ++size);
+
+            if (size > capacity * MAX_LOAD) {
+                grow();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of stored entries.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            index.force();
+            data.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the slot of the given hash pointing at the given record as dropped, if it still does.
+     */
+    private void drop(long hash, long offset) {
+        int slot = slotOf(hash, capacity);
+        while (true) {
+            long slotHash = index.getLong(slotPosition(slot));
+            if (slotHash == 0) {
+                return;
+            }
+            if (slotHash == hash && index.getLong(slotPosition(slot) + 8) == offset) {
+                index.putLong(slotPosition(slot) + 8, DROPPED);
+                index.putInt(8, --size);
+                return;
+            }
+            slot = (slot + 1) & (capacity - 1);
+        }
+    }
+
+    private long append(byte[] keyBytes, byte[] body) throws IOException {
+        long offset = data.size();
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + keyBytes.length + body.length);
+        record.putInt(keyBytes.length).putInt(body.length).put(keyBytes).put(body).flip();
+        long position = offset;
+        while (record.hasRemaining()) {
+            position += data.write(record, position);
+        }
+
+        return offset;
+    }
+
+    /**
+     * Reads the body of the record at the given offset.
+     *
+     * @return The body, or null if the slot was dropped or the record belongs to a different key with the same hash.
+     * @throws CorruptRecordException if the record is short or its lengths are invalid.
+     */
+    private byte[] readBody(long offset, byte[] keyBytes) throws IOException {
+        if (offset == DROPPED) {
+            return null;
+        }
+
+        ByteBuffer header = readFully(offset, RECORD_HEADER_SIZE);
+        int keyLength = header.getInt();
+        int bodyLength = header.getInt();
+        if (keyLength < 0 || bodyLength < 0
+                || offset + RECORD_HEADER_SIZE + (long) keyLength + bodyLength > data.size()) {
+            throw new CorruptRecordException(offset);
+        }
+        if (keyLength != keyBytes.length) {
+            return null;
+        }
+
+        ByteBuffer record = readFully(offset + RECORD_HEADER_SIZE, keyLength + bodyLength);
+        byte[] storedKey = new byte[keyLength];
+        record.get(storedKey);
+        if (!Arrays.equals(storedKey, keyBytes)) {
+            return null;
+        }
+
+        byte[] body = new byte[bodyLength];
+        record.get(body);
+        return body;
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (data.read(buffer, position + buffer.position()) < 0) {
+                throw new CorruptRecordException(position);
+            }
+        }
+
+        return buffer.flip();
+    }
+
+    private void grow() throws IOException {
+        Path indexPath = directory.resolve(INDEX_FILE);
+        Path resized = directory.resolve(INDEX_FILE + ".tmp");
+        MappedByteBuffer previous = index;
+        int previousCapacity = capacity;
+
+        size = 0;
+        createIndex(resized, previousCapacity * 2);
+        for (int slot = 0; slot < previousCapacity; slot++) {
+            long hash = previous.getLong(slotPosition(slot));
+            if (hash != 0 && previous.getLong(slotPosition(slot) + 8) != DROPPED) {
+                size++;
+                int target = slotOf(hash, capacity);
+                while (index.getLong(slotPosition(target)) != 0) {
+                    target = (target + 1) & (capacity - 1);
+                }
+                index.putLong(slotPosition(target), hash);
+                index.putLong(slotPosition(target) + 8, previous.getLong(slotPosition(slot) + 8));
+            }
+        }
+        index.putInt(8, size);
+        index.force();
+
+        Files.move(resized, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("[DiskResponseStore] | Resized index to {} slots", capacity);
+    }
+
+    private void createIndex(Path indexPath, int slots) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            index = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * SLOT_SIZE);
+        }
+        index.putInt(0, MAGIC);
+        index.putInt(4, slots);
+        index.putInt(8, size);
+        capacity = slots;
+    }
+
+    private void mapIndex(Path indexPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            index = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        if (index.getInt(0) != MAGIC) {
+            throw new IOException("Not a response index: " + indexPath);
+        }
+        capacity = index.getInt(4);
+        size = index.getInt(8);
+    }
+
+    private static int slotPosition(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    /**
+     * @return The first slot probed for the given key in a table of the given capacity.
+     */
+    static int slotOf(String key, int capacity) {
+        return slotOf(hash(key.getBytes(StandardCharsets.UTF_8)), capacity);
+    }
+
+    private static int slotOf(long hash, int capacity) {
+        return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+    }
+
+    /**
+     * 64-bit FNV-1a. Zero marks an empty slot, so it is never returned.
+     */
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * A record which cannot be read in full, or whose header is invalid.
+     */
+    private static class CorruptRecordException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        CorruptRecordException(long offset) {
+            super("Corrupt record in " + DATA_FILE + " at offset " + offset);
+        }
+    }
+}
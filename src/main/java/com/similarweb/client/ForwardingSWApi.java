@@ -0,0 +1,103 @@
+package com.similarweb.client;
+
+import com.similarweb.model.SIMILARWEB_METRICS;
+import com.similarweb.model.unified.SwResponse;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A {@link SWApi} which forwards every call to a delegate.
+ *
+ * Subclasses add behaviour in front of the delegate by overriding {@link #invoke(SwApiCall, Supplier)}, which receives
+ * the identity of the call and a supplier performing the delegate call.
+ */
+public abstract class ForwardingSWApi implements SWApi {
+    public static final String VISITS = SIMILARWEB_METRICS.VISITS.getPath();
+    public static final String BOUNCE_RATE = SIMILARWEB_METRICS.BOUNCE_RATE.getPath();
+    public static final String AVG_VISIT_DURATION = SIMILARWEB_METRICS.AVG_VISIT_DURATION.getPath();
+    public static final String PAGE_VIEWS = SIMILARWEB_METRICS.PAGE_VIEWS.getPath();
+    public static final String DESKTOP_UNIQUE_VISITORS = SIMILARWEB_METRICS.UNIQUE_VISITS_DESKTOP.getPath();
+    public static final String MOBILE_WEB_UNIQUE_VISITORS = SIMILARWEB_METRICS.UNIQUE_VISITS_MOBILE.getPath();
+    public static final String SEGMENT = "segment/traffic-and-engagement/query";
+
+    protected final SWApi delegate;
+
+    protected ForwardingSWApi(SWApi delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Performs the given call. The default implementation simply calls the delegate.
+     *
+     * @param call     The identity of the call.
+     * @param upstream Performs the call against the delegate.
+     * @return The response.
+     */
+    protected <T> T invoke(SwApiCall call, Supplier<T> upstream) {
+        return upstream.get();
+    }
+
+    /**
+     * Looks for a layer of the given type in a chain of {@link ForwardingSWApi}s.
+     *
+     * @param api  The outermost client.
+     * @param type The type of layer to look for.
+     * @return The first layer of the given type, if any.
+     */
+    public static <D extends SWApi> Optional<D> find(SWApi api, Class<D> type) {
+        SWApi current = api;
+        while (current != null) {
+            if (type.isInstance(current)) {
+                return Optional.of(type.cast(current));
+            }
+            current = current instanceof ForwardingSWApi ? ((ForwardingSWApi) current).delegate : null;
+        }
+
+        return Optional.empty();
+    }
+
+    private static SwApiCall websiteCall(String endpoint, String apiKey, String startDate, String endDate, String country,
+                                         String granularity, boolean isOnlyMainDomain, String domain) {
+        return SwApiCall.builder()
+                .endpoint(endpoint)
+                .apiKey(apiKey)
+                .target(domain)
+                .startDate(startDate)
+                .endDate(endDate)
+                .country(country)
+                .granularity(granularity)
+                .mainDomainOnly(isOnlyMainDomain)
+                .build();
+    }
+
+    @Override
+    public SwResponse getWebsiteMetric(String api_key, SIMILARWEB_METRICS metric, String startDate, String endDate,
+                                       String country, String granularity, boolean isOnlyMainDomain, String domain) {
+        return invoke(websiteCall(metric.getPath(), api_key, startDate, endDate, country, granularity, isOnlyMainDomain, domain),
+                () -> delegate.getWebsiteMetric(api_key, metric, startDate, endDate, country, granularity, isOnlyMainDomain, domain));
+    }
+
+    @Override
+    public SwResponse getWebsiteMetricLatest(String api_key, SIMILARWEB_METRICS metric, String country, String granularity,
+                                             boolean isOnlyMainDomain, String domain) {
+        return invoke(websiteCall(metric.getPath(), api_key, null, null, country, granularity, isOnlyMainDomain, domain),
+                () -> delegate.getWebsiteMetricLatest(api_key, metric, country, granularity, isOnlyMainDomain, domain));
+    }
+
+    @Override
+    public SwResponse getSegmentData(String api_key, String segmentId, String startDate, String endDate,
+                                          String country, String granularity) {
+        SwApiCall call = SwApiCall.builder()
+                .endpoint(SEGMENT)
+                .apiKey(api_key)
+                .target(segmentId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .country(country)
+                .granularity(granularity)
+                .build();
+
+        return invoke(call, () -> delegate.getSegmentData(api_key, segmentId, startDate, endDate, country, granularity));
+    }
+}
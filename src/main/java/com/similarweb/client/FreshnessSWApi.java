@@ -0,0 +1,36 @@
+package com.similarweb.client;
+
+import com.similarweb.model.traffic_and_engagement.Meta;
+import com.similarweb.model.unified.SwResponse;
+
+import java.util.function.Supplier;
+
+/**
+ * A {@link SWApi} which records the {@code meta.last_updated} date of every response in a {@link FreshnessTracker}
+ * and attaches the resulting {@link com.similarweb.model.unified.Freshness} to the meta of the response.
+ *
+ * It sits below the {@link CachingSWApi}, so only responses actually fetched are recorded, and the cache can keep
+ * a response until newer data is expected.
+ */
+public class FreshnessSWApi extends ForwardingSWApi {
+    private final FreshnessTracker tracker;
+
+    public FreshnessSWApi(SWApi delegate, FreshnessTracker tracker) {
+        super(delegate);
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected <T> T invoke(SwApiCall call, Supplier<T> upstream) {
+        T response = upstream.get();
+        if (response instanceof SwResponse) {
+            SwResponse swResponse = (SwResponse) response;
+            if (swResponse.getMeta() == null) {
+                swResponse.setMeta(new Meta());
+            }
+            swResponse.getMeta().setFreshness(tracker.record(call, swResponse.getMeta().getLast_updated()));
+        }
+
+        return response;
+    }
+}
@@ -0,0 +1,124 @@
+package com.similarweb.client;
+
+import com.similarweb.model.unified.Freshness;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Learns how often SimilarWeb releases new data, from the {@code meta.last_updated} date of the responses.
+ *
+ * Releases are tracked per domain (or segment), endpoint and granularity. Every time a newer {@code last_updated} is
+ * seen, the days since the previous one are kept, and the median of the last {@value #HISTORY} intervals is the release
+ * cadence. Until an interval was observed, the cadence defaults to 28 days for monthly data and 1 day otherwise, the
+ * shortest time between two releases of either. The next release is expected at the start of the day (UTC)
+ * {@code last_updated} plus the cadence.
+ */
+public class FreshnessTracker {
+    private static final int HISTORY = 8;
+    private static final String MONTHLY = "monthly";
+
+    private final ConcurrentMap<Key, Releases> releases = new ConcurrentHashMap<>();
+
+    /**
+     * Records the {@code last_updated} date of a response.
+     *
+     * @param call        The call the response was fetched for.
+     * @param lastUpdated The {@code last_updated} date of the response, in {@code yyyy-MM-dd} format, or null.
+     * @return The freshness of the response.
+     */
+    public Freshness record(SwApiCall call, String lastUpdated) {
+        Instant now = Instant.now();
+        LocalDate date = parse(lastUpdated);
+        if (date == null) {
+            return Freshness.builder().fetchedAt(now).updated(true).build();
+        }
+
+        return releases.computeIfAbsent(Key.of(call), key -> new Releases(defaultCadence(call.getGranularity())))
+                .record(date, now);
+    }
+
+    private static Duration defaultCadence(String granularity) {
+        return MONTHLY.equalsIgnoreCase(granularity) ? Duration.ofDays(28) : Duration.ofDays(1);
+    }
+
+    private static LocalDate parse(String lastUpdated) {
+        if (lastUpdated == null || lastUpdated.length() < 10) {
+            return null;
+        }
+
+        try {
+            return LocalDate.parse(lastUpdated.substring(0, 10));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static class Releases {
+        private final Duration defaultCadence;
+        private final Deque<Long> intervals = new ArrayDeque<>();
+        private LocalDate last;
+
+        Releases(Duration defaultCadence) {
+            this.defaultCadence = defaultCadence;
+        }
+
+        synchronized Freshness record(LocalDate lastUpdated, Instant now) {
+            boolean updated = last == null || lastUpdated.isAfter(last);
+            if (last != null && updated) {
+                intervals.addLast(ChronoUnit.DAYS.between(last, lastUpdated));
+                if (intervals.size() > HISTORY) {
+                    intervals.removeFirst();
+                }
+            }
+            if (updated) {
+                last = lastUpdated;
+            }
+
+            Duration cadence = cadence();
+            Instant nextUpdate = last.atStartOfDay(ZoneOffset.UTC).plus(cadence).toInstant();
+            return Freshness.builder()
+                    .lastUpdated(lastUpdated)
+                    .fetchedAt(now)
+                    .updated(updated)
+                    .releaseCadence(cadence)
+                    .cadenceObserved(!intervals.isEmpty())
+                    .nextUpdateExpected(now.isBefore(nextUpdate) ? nextUpdate : null)
+                    .build();
+        }
+
+        private Duration cadence() {
+            if (intervals.isEmpty()) {
+                return defaultCadence;
+            }
+
+            long[] days = intervals.stream().mapToLong(Long::longValue).sorted().toArray();
+            return Duration.ofDays(Math.max(days[days.length / 2], 1));
+        }
+    }
+
+    /**
+     * The data a release is tracked for.
+     */
+    @Value
+    private static class Key {
+        String endpoint;
+        String target;
+        String granularity;
+
+        static Key of(SwApiCall call) {
+            return new Key(call.getEndpoint(), call.getTarget(),
+                    call.getGranularity() == null ? null : call.getGranularity().toLowerCase(Locale.ROOT));
+        }
+    }
+}
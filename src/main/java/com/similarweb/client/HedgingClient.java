@@ -0,0 +1,277 @@
+package com.similarweb.client;
+
+import com.similarweb.metrics.SwMetrics;
+import com.similarweb.model.request.RequestPriority;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A feign {@link Client} which sends a second, identical attempt for interactive requests which have not answered
+ * within the hedge delay of their endpoint, and returns whichever usable response arrives first. A response with one
+ * of the {@code failedStatusCodes} does not win while the other attempt is still running; it is only returned if
+ * every attempt fails. The responses which are not returned are closed once they arrive.
+ *
+ * The hedge delay is the configured percentile of the recent latencies of the endpoint, as kept by a
+ * {@link LatencyTracker}, and at least {@code minDelay}. Endpoints without enough samples yet are not hedged.
+ *
+ * Hedges sit behind the {@link RateLimitedClient}, so the delay only starts once the first attempt holds its permit.
+ * A hedge takes a permit of its own, but only one available right away while no request is queued for one, see
+ * {@link PermitScheduler#tryAcquire(RateLimiter)}, so hedges never queue behind, or delay, regular requests. They are
+ * also budgeted: every request earns {@code budget} hedges, e.g. 0.05 lets at most one request in twenty be hedged on
+ * average. Batch requests are never hedged.
+ *
+ * Attempts run on a shared pool of at most {@value #MAX_THREADS} threads. While it is full, requests are sent on the
+ * calling thread without a hedge.
+ */
+public class HedgingClient implements Client {
+    private static final int MAX_THREADS = 64;
+    private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(0, MAX_THREADS, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "similarweb-hedge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The max number of hedges which can be saved up while requests are fast.
+     */
+    private static final double MAX_TOKENS = 10;
+
+    private final Client delegate;
+    private final ApiKeyRateLimiters rateLimiters;
+    private final PermitScheduler permits;
+    private final LatencyTracker latencies;
+    private final double percentile;
+    private final long minDelay;
+    private final double budget;
+    private final Set<Integer> failedStatusCodes;
+    private final SwMetrics metrics;
+    private double tokens;
+
+    /**
+     * @param percentile        The latency percentile of the endpoint after which a request is hedged, between 0 and
+     *                          100.
+     * @param minDelay          The min hedge delay, in ms.
+     * @param budget            The number of hedges earned by each request, between 0 and 1.
+     * @param failedStatusCodes The status codes of responses which do not win the race.
+     */
+    public HedgingClient(Client delegate, ApiKeyRateLimiters rateLimiters, PermitScheduler permits,
+                         LatencyTracker latencies, double percentile, long minDelay, double budget,
+                         Set<Integer> failedStatusCodes, SwMetrics metrics) {
+        this.delegate = delegate;
+        this.rateLimiters = rateLimiters;
+        this.permits = permits;
+        this.latencies = latencies;
+        this.percentile = percentile;
+        this.minDelay = TimeUnit.MILLISECONDS.toNanos(minDelay);
+        this.budget = budget;
+        this.failedStatusCodes = failedStatusCodes;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        RequestPriority priority = PriorityContext.current();
+        String endpoint = MeteredClient.endpointOf(request);
+        long delay = latencies.percentile(endpoint, percentile);
+        if (priority != RequestPriority.INTERACTIVE || delay < 0) {
+            return delegate.execute(request, options);
+        }
+        earn();
+
+        RateLimiter rateLimiter = rateLimiters.forRequest(request);
+        Race race = new Race(rateLimiter);
+        if (!race.start(request, options, priority, false, endpoint)) {
+            return delegate.execute(request, options);
+        }
+        try {
+            return race.winner.get(Math.max(delay, minDelay), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (spend()) {
+                if (permits.tryAcquire(rateLimiter)) {
+                    race.start(request, options, priority, true, endpoint);
+                } else {
+                    refund();
+                }
+            }
+            return await(race.winner);
+        } catch (InterruptedException e) {
+            return interrupted(race.winner);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private synchronized void earn() {
+        tokens = Math.min(tokens + budget, MAX_TOKENS);
+    }
+
+    private synchronized boolean spend() {
+        if (tokens < 1) {
+            return false;
+        }
+
+        tokens--;
+        return true;
+    }
+
+    private synchronized void refund() {
+        tokens = Math.min(tokens + 1, MAX_TOKENS);
+    }
+
+    private static Response await(CompletableFuture<Response> winner) throws IOException {
+        try {
+            return winner.get();
+        } catch (InterruptedException e) {
+            return interrupted(winner);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Gives up on the race, so that the responses of the attempts still running are closed once they arrive.
+     */
+    private static Response interrupted(CompletableFuture<Response> winner) throws InterruptedIOException {
+        winner.cancel(false);
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for the response");
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof UncheckedIOException) {
+            return ((UncheckedIOException) cause).getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException(cause);
+    }
+
+    /**
+     * The attempts of one request. The first usable response completes the winner. Once every attempt has failed, the
+     * last failed response completes it, or the last error if no attempt got a response.
+     */
+    private class Race {
+        private final CompletableFuture<Response> winner = new CompletableFuture<>();
+        private final RateLimiter rateLimiter;
+        private int pending;
+        private Response failure;
+
+        Race(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+        }
+
+        /**
+         * Starts an attempt, unless the race is already decided.
+         *
+         * @return false if the attempt was not started, because the race is decided or the pool is full.
+         */
+        boolean start(Request request, Request.Options options, RequestPriority priority, boolean hedge,
+                      String endpoint) {
+            synchronized (this) {
+                if (winner.isDone()) {
+                    return false;
+                }
+                pending++;
+            }
+
+            CompletableFuture<Response> attempt;
+            try {
+                attempt = CompletableFuture.supplyAsync(() -> PriorityContext.call(priority, () -> {
+                    try {
+                        return delegate.execute(request, options);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }), EXECUTOR);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    pending--;
+                }
+                return false;
+            }
+
+            attempt.whenComplete((response, error) -> {
+                boolean won = finished(response, error == null || error.getCause() == null ? error : error.getCause());
+                if (hedge) {
+                    metrics.recordHedge(endpoint, won);
+                }
+            });
+            return true;
+        }
+
+        /**
+         * Settles an attempt: a usable response wins unless the race is decided, a failed response is kept in case
+         * every attempt fails, and the responses which cannot be returned any more are discarded.
+         *
+         * @return true if the attempt won.
+         */
+        private boolean finished(Response response, Throwable error) {
+            boolean won = false;
+            Response discarded = null;
+            Response superseded = null;
+            synchronized (this) {
+                pending--;
+                if (response != null && !failedStatusCodes.contains(response.status())) {
+                    won = winner.complete(response);
+                    discarded = won ? null : response;
+                    superseded = failure;
+                    failure = null;
+                } else {
+                    if (response != null) {
+                        superseded = failure;
+                        failure = response;
+                    }
+                    if (winner.isDone()) {
+                        discarded = failure;
+                        failure = null;
+                    } else if (pending == 0) {
+                        if (failure == null) {
+                            winner.completeExceptionally(error);
+                        } else if (!winner.complete(failure)) {
+                            discarded = failure;
+                        }
+                        failure = null;
+                    }
+                }
+            }
+
+            if (discarded != null) {
+                discard(discarded);
+            }
+            if (superseded != null) {
+                discard(superseded);
+            }
+            return won;
+        }
+
+        /**
+         * Reports a response which is not returned to the limiter which admitted it, then closes it. The response
+         * which is returned is reported by the {@link RateLimitedClient}.
+         */
+        private void discard(Response response) {
+            rateLimiters.onResponse(rateLimiter, response);
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.similarweb.client;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the latencies of the latest successful attempts of each endpoint, so that latency percentiles follow the
+ * current behaviour of the endpoint. Endpoints are named like the {@link ForwardingSWApi} endpoint constants.
+ *
+ * Each endpoint keeps a ring of its last {@value #WINDOW} samples. A percentile is only reported once an endpoint has
+ * {@value #MIN_SAMPLES} samples, and is recomputed at most every {@value #RECOMPUTE_EVERY} samples.
+ */
+public class LatencyTracker {
+    private static final int WINDOW = 256;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final ConcurrentMap<String, Samples> samples = new ConcurrentHashMap<>();
+
+    /**
+     * @param endpoint     The endpoint.
+     * @param latencyNanos The time until the response headers were received, in ns.
+     */
+    public void record(String endpoint, long latencyNanos) {
+        samples.computeIfAbsent(endpoint, key -> new Samples()).add(latencyNanos);
+    }
+
+    /**
+     * @param endpoint   The endpoint.
+     * @param percentile The percentile, between 0 and 100.
+     * @return The latency at the given percentile over the latest samples of the endpoint, in ns, or -1 if it does
+     * not have enough samples yet.
+     */
+    public long percentile(String endpoint, double percentile) {
+        Samples endpointSamples = samples.get(endpoint);
+        return endpointSamples == null ? -1 : endpointSamples.percentile(percentile);
+    }
+
+    private static class Samples {
+        private final long[] ring = new long[WINDOW];
+        private long count;
+        private long sortedAt = -1;
+        private long[] sorted = new long[0];
+
+        synchronized void add(long latencyNanos) {
+            ring[(int) (count++ % WINDOW)] = latencyNanos;
+        }
+
+        synchronized long percentile(double percentile) {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+            if (sortedAt < 0 || count - sortedAt >= RECOMPUTE_EVERY) {
+                sorted = Arrays.copyOf(ring, (int) Math.min(count, WINDOW));
+                Arrays.sort(sorted);
+                sortedAt = count;
+            }
+
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.similarweb.client;
+
+import com.similarweb.metrics.SwMetrics;
+import feign.AsyncClient;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The {@link AsyncClient} counterpart of {@link MeteredClient}.
+ */
+public class MeteredAsyncClient<C> implements AsyncClient<C> {
+    private final AsyncClient<C> delegate;
+    private final SwMetrics metrics;
+
+    public MeteredAsyncClient(AsyncClient<C> delegate, SwMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(Request request, Request.Options options, Optional<C> requestContext) {
+        String endpoint = MeteredClient.endpointOf(request);
+        long start = System.nanoTime();
+
+        return delegate.execute(request, options, requestContext)
+                .whenComplete((response, e) -> metrics.recordRequest(endpoint,
+                        response == null ? 0 : response.status(), System.nanoTime() - start))
+                .thenApply(response -> {
+                    try {
+                        return MeteredClient.counting(response, endpoint, metrics);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+}
@@ -0,0 +1,141 @@
+package com.similarweb.client;
+
+import com.similarweb.metrics.SwMetrics;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * A feign {@link Client} which reports the latency, status and body size of every attempt to {@link SwMetrics}.
+ * It sits right in front of the HTTP client, so rate limiter waits and disk cache hits are not part of the latency.
+ * The latencies of successful attempts are also fed to a {@link LatencyTracker}, from which hedge delays are derived.
+ */
+public class MeteredClient implements Client {
+    private static final String UNKNOWN_ENDPOINT = "unknown";
+
+    private final Client delegate;
+    private final SwMetrics metrics;
+    private final LatencyTracker latencies;
+
+    public MeteredClient(Client delegate, SwMetrics metrics) {
+        this(delegate, metrics, new LatencyTracker());
+    }
+
+    public MeteredClient(Client delegate, SwMetrics metrics, LatencyTracker latencies) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.latencies = latencies;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String endpoint = endpointOf(request);
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException e) {
+            metrics.recordRequest(endpoint, 0, System.nanoTime() - start);
+            throw e;
+        }
+        long latency = System.nanoTime() - start;
+        metrics.recordRequest(endpoint, response.status(), latency);
+        if (response.status() >= 200 && response.status() < 300) {
+            latencies.record(endpoint, latency);
+        }
+
+        return counting(response, endpoint, metrics);
+    }
+
+    /**
+     * Wraps the body of the response so that the number of bytes read is reported once it is closed.
+     */
+    static Response counting(Response response, String endpoint, SwMetrics metrics) throws IOException {
+        if (response.body() == null) {
+            return response;
+        }
+
+        return response.toBuilder()
+                .body(new CountingInputStream(response.body().asInputStream(), endpoint, metrics), response.body().length())
+                .build();
+    }
+
+    /**
+     * Names the endpoint of a request like the {@link ForwardingSWApi} endpoint constants, i.e. the path without the
+     * version and the domain or segment id: {@code /v1/website/x.com/unique-visitors/desktop_unique_visitors} becomes
+     * {@code unique-visitors/desktop_unique_visitors}, {@code /v1/segment/id/traffic-and-engagement/query} becomes
+     * {@code segment/traffic-and-engagement/query}.
+     */
+    static String endpointOf(Request request) {
+        if (request == null) {
+            return UNKNOWN_ENDPOINT;
+        }
+
+        String url = request.url();
+        int pathStart = url.indexOf('/', url.indexOf("://") + 3);
+        int queryStart = url.indexOf('?');
+        if (pathStart < 0) {
+            return UNKNOWN_ENDPOINT;
+        }
+
+        String[] segments = url.substring(pathStart + 1, queryStart < 0 ? url.length() : queryStart).split("/");
+        if (segments.length < 5) {
+            return UNKNOWN_ENDPOINT;
+        }
+
+        String rest = String.join("/", Arrays.asList(segments).subList(3, segments.length));
+        return "website".equals(segments[1]) ? rest : segments[1] + "/" + rest;
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final String endpoint;
+        private final SwMetrics metrics;
+        private long count;
+        private boolean closed;
+
+        CountingInputStream(InputStream in, String endpoint, SwMetrics metrics) {
+            super(in);
+            this.endpoint = endpoint;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                metrics.recordBytesReceived(endpoint, count);
+            }
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.similarweb.client;
+
+import com.similarweb.metrics.SwMetrics;
+import feign.Response;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * A {@link Decoder} which reports the time spent by the delegate decoding each response to {@link SwMetrics}.
+ */
+public class MeteredDecoder implements Decoder {
+    private final Decoder delegate;
+    private final SwMetrics metrics;
+
+    public MeteredDecoder(Decoder delegate, SwMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return delegate.decode(response, type);
+        } finally {
+            metrics.recordDecode(MeteredClient.endpointOf(response.request()), System.nanoTime() - start);
+        }
+    }
+}
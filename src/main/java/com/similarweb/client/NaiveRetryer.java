@@ -1,21 +0,0 @@
-package com.similarweb.client;
-
-import feign.RetryableException;
-import feign.Retryer;
-
-public class NaiveRetryer implements feign.Retryer {
-    @Override
-    public void continueOrPropagate(RetryableException e) {
-        try {
-            Thread.sleep(1000L);
-        } catch (InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw e;
-        }
-    }
-
-    @Override
-    public Retryer clone() {
-        return new NaiveRetryer();
-    }
-}
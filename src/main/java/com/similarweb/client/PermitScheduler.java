@@ -0,0 +1,279 @@
+package com.similarweb.client;
+
+import com.similarweb.model.request.RequestPriority;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out rate limiter permits to waiting requests, by priority and without parking a thread per waiting request.
+ *
+ * Requests queue up per limiter, in one FIFO queue per {@link RequestPriority}. Whenever a permit can be reserved with
+ * {@link RateLimiter#reservePermission()}, it goes to the head of one of the queues, picked by weighted fair queuing:
+ * while both classes are waiting they receive permits in proportion to their weights, and a class alone in line
+ * receives all of them. At most one permit is reserved ahead of time and released by a timer once its slot comes up,
+ * so a newly arrived interactive request never waits behind more than one batch reservation. When no permit can be
+ * reserved within the limiter timeout, the queues are retried one refresh period later. A permit whose request timed out
+ * before it was granted is handed to the next request in line rather than wasted, and the timeout of a request is
+ * cancelled once it is granted.
+ *
+ * Waiting requests are plain futures, so any number of them can be queued; the only thread involved is the shared
+ * timer. A scheduler must be shared by every client drawing from the same limiters, otherwise the weights only apply
+ * among the requests of each client.
+ */
+public class PermitScheduler {
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "similarweb-permits");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        // Granted requests cancel their timeout, which must not stay queued until it would have fired.
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    private final Map<RequestPriority, Integer> weights;
+    private final ConcurrentMap<RateLimiter, Waiters> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * @param weights The weight of each priority class. Classes without a weight get a weight of 1.
+     */
+    public PermitScheduler(Map<RequestPriority, Integer> weights) {
+        this.weights = new EnumMap<>(RequestPriority.class);
+        for (RequestPriority priority : RequestPriority.values()) {
+            int weight = weights.getOrDefault(priority, 1);
+            if (weight < 1) {
+                throw new IllegalArgumentException("Priority weights must be positive, got " + weight + " for " + priority);
+            }
+            this.weights.put(priority, weight);
+        }
+    }
+
+    /**
+     * Queues for a permit of the given limiter.
+     *
+     * @param rateLimiter The limiter.
+     * @param priority    The priority class of the request.
+     * @param timeout     The max time to wait for the permit, in ms. 0 waits indefinitely.
+     * @return A future completed once the permit is granted, or failed with {@link RequestNotPermitted} if the timeout
+     * passes first.
+     */
+    public CompletableFuture<Void> acquire(RateLimiter rateLimiter, RequestPriority priority, long timeout) {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        if (timeout > 0) {
+            ScheduledFuture<?> expiry = TIMER.schedule(
+                    () -> permit.completeExceptionally(RequestNotPermitted.createRequestNotPermitted(rateLimiter)),
+                    timeout, TimeUnit.MILLISECONDS);
+            permit.whenComplete((granted, e) -> expiry.cancel(false));
+        }
+
+        waiters.computeIfAbsent(rateLimiter, Waiters::new).add(permit, priority);
+        return permit;
+    }
+
+    /**
+     * Blocks until a permit of the given limiter is granted.
+     *
+     * @param rateLimiter The limiter.
+     * @param priority    The priority class of the request.
+     * @param timeout     The max time to wait for the permit, in ms. 0 waits indefinitely.
+     * @throws RequestNotPermitted if the timeout passes first, or the thread is interrupted.
+     */
+    public void acquireBlocking(RateLimiter rateLimiter, RequestPriority priority, long timeout) {
+        CompletableFuture<Void> permit = acquire(rateLimiter, priority, timeout);
+        try {
+            permit.get();
+        } catch (InterruptedException e) {
+            permit.cancel(false);
+            Thread.currentThread().interrupt();
+            throw RequestNotPermitted.createRequestNotPermitted(rateLimiter);
+        } catch (ExecutionException | CancellationException e) {
+            throw RequestNotPermitted.createRequestNotPermitted(rateLimiter);
+        }
+    }
+
+    /**
+     * Takes a permit of the given limiter if one is available right away and no request is waiting for one, so that
+     * the caller never delays queued requests.
+     *
+     * @param rateLimiter The limiter.
+     * @return true if the permit was taken.
+     */
+    public boolean tryAcquire(RateLimiter rateLimiter) {
+        return waiters.computeIfAbsent(rateLimiter, Waiters::new).tryTake();
+    }
+
+    /**
+     * The queues of one limiter. At most one drain is scheduled at a time.
+     *
+     * Fair sharing uses virtual finish times: each grant advances the pass of its class by {@code 1 / weight}, and the
+     * non-empty class with the lowest pass is served next. A class joining the line starts at the current virtual
+     * time, so it cannot claim the permits it did not use while idle.
+     */
+    private class Waiters {
+        private final RateLimiter rateLimiter;
+        private final Map<RequestPriority, Queue<CompletableFuture<Void>>> queues = new EnumMap<>(RequestPriority.class);
+        private final Map<RequestPriority, Double> passes = new EnumMap<>(RequestPriority.class);
+        private double virtualTime;
+        private boolean drainScheduled;
+
+        Waiters(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            for (RequestPriority priority : RequestPriority.values()) {
+                queues.put(priority, new ArrayDeque<>());
+                passes.put(priority, 0.0);
+            }
+        }
+
+        void add(CompletableFuture<Void> permit, RequestPriority priority) {
+            boolean drainNow;
+            synchronized (this) {
+                Queue<CompletableFuture<Void>> queue = queues.get(priority);
+                if (queue.isEmpty()) {
+                    passes.put(priority, Math.max(passes.get(priority), virtualTime));
+                }
+                queue.add(permit);
+                drainNow = !drainScheduled;
+            }
+
+            if (drainNow) {
+                drain();
+            }
+        }
+
+        /**
+         * Takes a permit for a caller outside the queues, if the queues are empty and a permit is available now. A
+         * permit which could only be reserved ahead of time is handed to the queues once its slot comes up.
+         */
+        synchronized boolean tryTake() {
+            if (drainScheduled || nextInLine() != null || rateLimiter.getMetrics().getAvailablePermissions() < 1) {
+                return false;
+            }
+
+            long wait = rateLimiter.reservePermission();
+            if (wait > 0) {
+                schedule(() -> {
+                    handOver(1);
+                    drain();
+                }, wait);
+            }
+            return wait == 0;
+        }
+
+        /**
+         * Grants permits while they are available now, and reserves at most one ahead of time. Requests granted now
+         * are released after leaving the lock, so that dispatching them does not happen while holding it.
+         */
+        private void drain() {
+            List<CompletableFuture<Void>> ready = new ArrayList<>();
+            synchronized (this) {
+                drainScheduled = false;
+                RequestPriority next;
+                while ((next = nextInLine()) != null) {
+                    long wait = rateLimiter.reservePermission();
+                    if (wait < 0) {
+                        long refreshPeriod = rateLimiter.getRateLimiterConfig().getLimitRefreshPeriod().toNanos();
+                        schedule(this::drain, Math.max(refreshPeriod, 1));
+                        break;
+                    }
+
+                    CompletableFuture<Void> permit = poll(next);
+                    if (wait == 0) {
+                        ready.add(permit);
+                    } else {
+                        schedule(() -> {
+                            if (!permit.complete(null)) {
+                                handOver(1);
+                            }
+                            drain();
+                        }, wait);
+                        break;
+                    }
+                }
+            }
+
+            grant(ready);
+        }
+
+        /**
+         * Grants permits which were already taken from the limiter to the next requests in line, without reserving
+         * any. Permits left over when nobody is waiting are lost, like any permit unused within its period.
+         *
+         * @param permits The number of permits to hand over.
+         */
+        private void handOver(int permits) {
+            List<CompletableFuture<Void>> ready = new ArrayList<>();
+            synchronized (this) {
+                RequestPriority next;
+                while (ready.size() < permits && (next = nextInLine()) != null) {
+                    ready.add(poll(next));
+                }
+            }
+
+            grant(ready);
+        }
+
+        /**
+         * Completes the given requests, outside the lock. The permits of requests which timed out in the meantime are
+         * handed over.
+         */
+        private void grant(List<CompletableFuture<Void>> ready) {
+            int unused = 0;
+            for (CompletableFuture<Void> permit : ready) {
+                if (!permit.complete(null)) {
+                    unused++;
+                }
+            }
+            if (unused > 0) {
+                handOver(unused);
+            }
+        }
+
+        /**
+         * Takes the head of the queue of the given class and advances the pass of the class.
+         */
+        private CompletableFuture<Void> poll(RequestPriority priority) {
+            virtualTime = passes.get(priority);
+            passes.put(priority, virtualTime + 1.0 / weights.get(priority));
+            return queues.get(priority).poll();
+        }
+
+        /**
+         * @return The class to serve next, or null if every queue is empty. Requests which timed out are dropped.
+         */
+        private RequestPriority nextInLine() {
+            RequestPriority next = null;
+            for (Map.Entry<RequestPriority, Queue<CompletableFuture<Void>>> entry : queues.entrySet()) {
+                Queue<CompletableFuture<Void>> queue = entry.getValue();
+                while (!queue.isEmpty() && queue.peek().isDone()) {
+                    queue.poll();
+                }
+                if (!queue.isEmpty() && (next == null || passes.get(entry.getKey()) < passes.get(next))) {
+                    next = entry.getKey();
+                }
+            }
+
+            return next;
+        }
+
+        private void schedule(Runnable task, long delayNanos) {
+            drainScheduled = true;
+            TIMER.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
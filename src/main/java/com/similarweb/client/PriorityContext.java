@@ -0,0 +1,41 @@
+package com.similarweb.client;
+
+import com.similarweb.model.request.RequestPriority;
+
+import java.util.function.Supplier;
+
+/**
+ * Carries the {@link RequestPriority} of the current call from the services down to the rate limited clients, which
+ * run on the calling thread. Calls made outside {@link #call(RequestPriority, Supplier)} are
+ * {@link RequestPriority#INTERACTIVE}.
+ */
+public final class PriorityContext {
+    private static final ThreadLocal<RequestPriority> CURRENT = ThreadLocal.withInitial(() -> RequestPriority.INTERACTIVE);
+
+    private PriorityContext() {
+    }
+
+    /**
+     * @return The priority of the call running on this thread.
+     */
+    public static RequestPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the call with the given priority.
+     *
+     * @param priority The priority, or null for {@link RequestPriority#INTERACTIVE}.
+     * @param call     The call.
+     * @return The result of the call.
+     */
+    public static <T> T call(RequestPriority priority, Supplier<T> call) {
+        RequestPriority previous = CURRENT.get();
+        CURRENT.set(priority == null ? RequestPriority.INTERACTIVE : priority);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.similarweb.client;
+
+import com.similarweb.model.request.RequestPriority;
+
+import java.util.function.Supplier;
+
+/**
+ * A {@link SWApi} which issues every call with a fixed {@link RequestPriority}, so that the rate limited client below
+ * queues it for a permit in the matching class. See {@link PriorityContext} and {@link PermitScheduler}.
+ */
+public class PrioritySWApi extends ForwardingSWApi {
+    private final RequestPriority priority;
+
+    public PrioritySWApi(SWApi delegate, RequestPriority priority) {
+        super(delegate);
+        this.priority = priority;
+    }
+
+    @Override
+    protected <T> T invoke(SwApiCall call, Supplier<T> upstream) {
+        return PriorityContext.call(priority, upstream);
+    }
+}
@@ -0,0 +1,65 @@
+package com.similarweb.client;
+
+import com.similarweb.metrics.SwMetrics;
+import com.similarweb.model.request.RequestPriority;
+import feign.AsyncClient;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link AsyncClient} which waits for a permit from the limiter of the request's API key before handing the request
+ * over to the delegate. Permits are handed out by a {@link PermitScheduler}, according to the {@link PriorityContext}
+ * of the calling thread, so waiting requests do not block the caller nor hold any thread. Requests which cannot get
+ * a permit within the queue timeout complete exceptionally with {@link RequestNotPermitted}. The time spent waiting
+ * is reported to {@link SwMetrics}.
+ *
+ * Retries handed over by an {@link AsyncBackoffRetryer} only queue for their permit once their backoff delay has
+ * passed, with the priority of the original call.
+ */
+public class RateLimitedAsyncClient<C> implements AsyncClient<C> {
+    private final AsyncClient<C> delegate;
+    private final ApiKeyRateLimiters rateLimiters;
+    private final PermitScheduler permits;
+    private final long timeout;
+    private final SwMetrics metrics;
+
+    /**
+     * @param timeout The max time to wait for a permit, in ms. 0 waits indefinitely.
+     */
+    public RateLimitedAsyncClient(AsyncClient<C> delegate, ApiKeyRateLimiters rateLimiters, PermitScheduler permits,
+                                  long timeout, SwMetrics metrics) {
+        this.delegate = delegate;
+        this.rateLimiters = rateLimiters;
+        this.permits = permits;
+        this.timeout = timeout;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(Request request, Request.Options options, Optional<C> requestContext) {
+        RateLimiter rateLimiter = rateLimiters.forRequest(request);
+        AsyncBackoffRetryer.Pending retry = AsyncBackoffRetryer.takePending();
+        RequestPriority priority = retry == null ? PriorityContext.current() : retry.priority;
+        CompletableFuture<Void> backoff = retry == null || retry.delay <= 0
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.runAsync(() -> {
+                }, CompletableFuture.delayedExecutor(retry.delay, TimeUnit.MILLISECONDS));
+
+        return backoff.thenCompose(ready -> {
+                    long start = System.nanoTime();
+                    return permits.acquire(rateLimiter, priority, timeout).whenComplete((permit, e) ->
+                            metrics.recordRateLimiterWait(rateLimiter.getName(), System.nanoTime() - start));
+                })
+                .thenCompose(permit -> delegate.execute(request, options, requestContext))
+                .thenApply(response -> {
+                    rateLimiters.onResponse(rateLimiter, response);
+                    return response;
+                });
+    }
+}
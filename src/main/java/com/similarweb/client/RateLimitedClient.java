@@ -0,0 +1,51 @@
+package com.similarweb.client;
+
+import com.similarweb.metrics.SwMetrics;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+
+import java.io.IOException;
+
+/**
+ * A feign {@link Client} which waits for a permit from the limiter of the request's API key before handing the
+ * request over to the delegate. Every attempt, including retries, consumes a permit, since each one counts against
+ * the quota upstream. Permits are handed out by a {@link PermitScheduler}, according to the {@link PriorityContext}
+ * of the calling thread. Requests which cannot get a permit within the timeout fail with {@link RequestNotPermitted}.
+ * The time spent waiting is reported to {@link SwMetrics}.
+ */
+public class RateLimitedClient implements Client {
+    private final Client delegate;
+    private final ApiKeyRateLimiters rateLimiters;
+    private final PermitScheduler permits;
+    private final long timeout;
+    private final SwMetrics metrics;
+
+    /**
+     * @param timeout The max time to wait for a permit, in ms. 0 waits indefinitely.
+     */
+    public RateLimitedClient(Client delegate, ApiKeyRateLimiters rateLimiters, PermitScheduler permits, long timeout,
+                             SwMetrics metrics) {
+        this.delegate = delegate;
+        this.rateLimiters = rateLimiters;
+        this.permits = permits;
+        this.timeout = timeout;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        RateLimiter rateLimiter = rateLimiters.forRequest(request);
+        long start = System.nanoTime();
+        try {
+            permits.acquireBlocking(rateLimiter, PriorityContext.current(), timeout);
+        } finally {
+            metrics.recordRateLimiterWait(rateLimiter.getName(), System.nanoTime() - start);
+        }
+        Response response = delegate.execute(request, options);
+        rateLimiters.onResponse(rateLimiter, response);
+        return response;
+    }
+}
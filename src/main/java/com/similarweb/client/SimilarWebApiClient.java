@@ -1,20 +1,28 @@
 package com.similarweb.client;
 
 import com.similarweb.config.SimilarWebClientConfig;
+import com.similarweb.model.request.RequestPriority;
+import feign.AsyncFeign;
+import feign.Client;
 import feign.Feign;
 import feign.Request;
-import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
 import feign.okhttp.OkHttpClient;
-import io.github.resilience4j.feign.FeignDecorators;
-import io.github.resilience4j.feign.Resilience4jFeign;
-import io.github.resilience4j.ratelimiter.RateLimiter;
-import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
-import org.jetbrains.annotations.NotNull;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Protocol;
 
-import java.time.Duration;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class provides a client for interacting with the SimilarWeb API.
@@ -22,9 +30,48 @@ import java.util.Objects;
  */
 public class SimilarWebApiClient {
 
-    private static final String SW_API_RL = "similarWebRateLimiter";
+    /**
+     * Shared between the blocking and the async clients so that both draw their permits from the same limiters.
+     */
+    private static final RateLimiterRegistry RATE_LIMITER_REGISTRY = RateLimiterRegistry.ofDefaults();
+
+    /**
+     * Disk stores by directory. A store must only be opened once per JVM.
+     */
+    private static final Map<Path, DiskResponseStore> DISK_STORES = new ConcurrentHashMap<>();
+
+    /**
+     * OkHttp clients by connection pool and dispatcher settings, so that clients built from equivalent configs share
+     * their connections.
+     */
+    private static final Map<List<Object>, okhttp3.OkHttpClient> HTTP_CLIENTS = new ConcurrentHashMap<>();
+
+    /**
+     * Permit schedulers by priority weights, so that the blocking and async clients of equivalent configs queue for
+     * their permits together.
+     */
+    private static final Map<Map<RequestPriority, Integer>, PermitScheduler> PERMIT_SCHEDULERS = new ConcurrentHashMap<>();
+
+    /**
+     * API key limiters by rate limit settings, so that the blocking, async and hedging paths of equivalent configs
+     * adapt their limits together against the same upstream quota.
+     */
+    private static final Map<List<Object>, ApiKeyRateLimiters> RATE_LIMITERS = new ConcurrentHashMap<>();
+
+    /**
+     * Shared by every blocking client, so that the release cadence of a dataset is learned once per JVM.
+     */
+    private static final FreshnessTracker FRESHNESS_TRACKER = new FreshnessTracker();
+
+    /**
+     * Shared by every blocking client, so that hedge delays follow the latencies observed across the JVM.
+     */
+    private static final LatencyTracker LATENCY_TRACKER = new LatencyTracker();
+
     /**
      * This method returns a client object for interacting with the SimilarWeb API.
+     * Depending on the config, identical concurrent calls are collapsed by a {@link CoalescingSWApi} and responses are
+     * served from a {@link CachingSWApi} in front of it. Responses carry their freshness, see {@link FreshnessSWApi}.
      *
      * @param config The SimilarWebClientConfig containing the configuration options for the client.
      * @return The SWApi client object.
@@ -35,52 +82,221 @@ public class SimilarWebApiClient {
             throw new IllegalArgumentException("Config is null! Cannot instantiate SW Client");
         }
 
-        return feignBuilder(config)
+        return getSwClient(config, okHttpClient(config));
+    }
+
+    /**
+     * Same as {@link #getSwClient(SimilarWebClientConfig)}, but sends requests through the given OkHttp client,
+     * sharing its connection pool and dispatcher. The connection settings of the config are ignored.
+     *
+     * @param config       The SimilarWebClientConfig containing the configuration options for the client.
+     * @param okHttpClient The OkHttp client to send requests with.
+     * @return The SWApi client object.
+     * @throws IllegalArgumentException if the config or the OkHttp client is null.
+     */
+    public static SWApi getSwClient(SimilarWebClientConfig config, okhttp3.OkHttpClient okHttpClient) {
+        if (Objects.isNull(config) || Objects.isNull(okHttpClient)) {
+            throw new IllegalArgumentException("Config or OkHttp client is null! Cannot instantiate SW Client");
+        }
+
+        SWApi client = feignBuilder(config, okHttpClient)
                 .target(SWApi.class, config.getSimilarWebUrl());
+
+        if (config.isFreshnessEnabled()) {
+            client = new FreshnessSWApi(client, FRESHNESS_TRACKER);
+        }
+        if (config.isCoalescingEnabled()) {
+            client = new CoalescingSWApi(client);
+        }
+        if (config.isCacheEnabled()) {
+            client = new CachingSWApi(client, config);
+        }
+
+        return client;
+    }
+
+    /**
+     * This method returns a non-blocking client object for interacting with the SimilarWeb API.
+     * Requests are dispatched on the OkHttp dispatcher and share the rate limiters of {@link #getSwClient}.
+     * Requests waiting for a permit are queued by a {@link PermitScheduler} rather than blocking the caller, and
+     * failed requests are retried like the blocking ones, without blocking a thread, see {@link AsyncBackoffRetryer}.
+     *
+     * @param config The SimilarWebClientConfig containing the configuration options for the client.
+     * @return The AsyncSWApi client object.
+     * @throws IllegalArgumentException if the config is null.
+     */
+    public static AsyncSWApi getAsyncSwClient(SimilarWebClientConfig config) {
+        if (Objects.isNull(config)) {
+            throw new IllegalArgumentException("Config is null! Cannot instantiate async SW Client");
+        }
+
+        return getAsyncSwClient(config, okHttpClient(config));
+    }
+
+    /**
+     * Same as {@link #getAsyncSwClient(SimilarWebClientConfig)}, but sends requests through the given OkHttp client,
+     * sharing its connection pool and dispatcher. The connection settings of the config are ignored.
+     *
+     * @param config       The SimilarWebClientConfig containing the configuration options for the client.
+     * @param okHttpClient The OkHttp client to send requests with.
+     * @return The AsyncSWApi client object.
+     * @throws IllegalArgumentException if the config or the OkHttp client is null.
+     */
+    public static AsyncSWApi getAsyncSwClient(SimilarWebClientConfig config, okhttp3.OkHttpClient okHttpClient) {
+        if (Objects.isNull(config) || Objects.isNull(okHttpClient)) {
+            throw new IllegalArgumentException("Config or OkHttp client is null! Cannot instantiate async SW Client");
+        }
+
+        return AsyncFeign.builder()
+                .client(new RateLimitedAsyncClient<>(new MeteredAsyncClient<>(new OkHttpClient(okHttpClient), config.getMetrics()),
+                        rateLimiters(config), permitScheduler(config), config.getAsyncPermitTimeout(), config.getMetrics()))
+                .encoder(new JacksonEncoder())
+                .decoder(new MeteredDecoder(new SwResponseDecoder(), config.getMetrics()))
+                .retryer(new AsyncBackoffRetryer(config))
+                .errorDecoder(new SwErrorDecoder(config.getRetryableStatusCodes()))
+                .logLevel(config.getLogLevel())
+                .options(requestOptions(config))
+                .target(AsyncSWApi.class, config.getSimilarWebUrl());
     }
 
     /**
      * Returns a Feign Builder object configured with the provided SimilarWebClientConfig.
      * The Feign Builder is responsible for building Feign clients to make API requests.
      *
-     * @param config The SimilarWebClientConfig containing the configuration options for the Feign client.
+     * @param config       The SimilarWebClientConfig containing the configuration options for the Feign client.
+     * @param okHttpClient The OkHttp client to send requests with.
      * @return The Feign Builder object.
      */
-    private static Feign.Builder feignBuilder(SimilarWebClientConfig config) {
-        return Resilience4jFeign.builder(feignDecorator(config))
+    private static Feign.Builder feignBuilder(SimilarWebClientConfig config, okhttp3.OkHttpClient okHttpClient) {
+        return Feign.builder()
                 .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
-                .client(new OkHttpClient())
-                .retryer(new NaiveRetryer())
+                .decoder(new MeteredDecoder(new SwResponseDecoder(), config.getMetrics()))
+                .client(httpClient(config, okHttpClient))
+                .retryer(new BackoffRetryer(config))
+                .errorDecoder(new SwErrorDecoder(config.getRetryableStatusCodes()))
                 .logLevel(config.getLogLevel())
-                .options(new Request.Options(config.getConnectTimeout(), config.getReadTimeout()));
+                .options(requestOptions(config));
+    }
+
+    /**
+     * Returns the connect and read timeouts of the config as feign request options, following redirects.
+     *
+     * @param config The SimilarWebClientConfig containing the timeouts, in ms.
+     * @return The feign Request.Options.
+     */
+    private static Request.Options requestOptions(SimilarWebClientConfig config) {
+        return new Request.Options(config.getConnectTimeout(), TimeUnit.MILLISECONDS,
+                config.getReadTimeout(), TimeUnit.MILLISECONDS, true);
     }
 
     /**
-     * Returns a {@link FeignDecorators} object configured with the provided {@link SimilarWebClientConfig}.
+     * Returns the HTTP client used by the blocking client.
+     * Every attempt is measured by a {@link MeteredClient} reporting to {@link SimilarWebClientConfig#getMetrics()}.
+     * Every request waits for a permit of its API key's rate limiter. If hedging is enabled in the config, slow
+     * interactive requests are hedged by a {@link HedgingClient} behind the limiter, which takes a spare permit for
+     * each hedge.
+     * If the disk cache is enabled, the client is wrapped in a {@link DiskCachingClient}, so that disk hits do not
+     * consume permits.
      *
-     * This method creates a {@link RateLimiterConfig} using the specified parameters from the {@link SimilarWebClientConfig}.
-     * It then creates a {@link RateLimiterRegistry} and registers a rate limiter with the specified name using the created config.
-     * Finally, it builds and returns a {@link FeignDecorators} object configured with the created rate limiter.
+     * @param config       The SimilarWebClientConfig containing the rate limit and disk cache options.
+     * @param okHttpClient The OkHttp client to send requests with.
+     * @return The feign Client.
+     * @throws UncheckedIOException if the disk cache cannot be opened.
+     */
+    private static Client httpClient(SimilarWebClientConfig config, okhttp3.OkHttpClient okHttpClient) {
+        Client client = new MeteredClient(new OkHttpClient(okHttpClient), config.getMetrics(), LATENCY_TRACKER);
+        if (config.isHedgingEnabled()) {
+            client = new HedgingClient(client, rateLimiters(config), permitScheduler(config), LATENCY_TRACKER,
+                    config.getHedgePercentile(), config.getHedgeMinDelay(), config.getHedgeBudget(),
+                    config.getRetryableStatusCodes(), config.getMetrics());
+        }
+        client = new RateLimitedClient(client, rateLimiters(config), permitScheduler(config),
+                config.getTimeoutDuration(), config.getMetrics());
+        if (!config.isDiskCacheEnabled()) {
+            return client;
+        }
+
+        Path directory = Paths.get(config.getDiskCacheDirectory()).toAbsolutePath().normalize();
+        DiskResponseStore store = DISK_STORES.computeIfAbsent(directory, dir -> {
+            try {
+                return DiskResponseStore.open(dir);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open disk cache in " + dir, e);
+            }
+        });
+
+        return new DiskCachingClient(client, store, config.getMetrics());
+    }
+
+    /**
+     * Returns the OkHttp client for the connection settings of the config, creating it on first use.
+     * Clients with the same settings are shared, so their connection pool is reused across {@link SWApi} instances.
+     * HTTP/2 is negotiated through ALPN where the server supports it, multiplexing requests over one connection.
      *
-     * @param config The {@link SimilarWebClientConfig} containing the configuration options for the feign client.
-     * @return The {@link FeignDecorators} object configured with the created rate limiter.
-     * @throws IllegalArgumentException if the {@link SimilarWebClientConfig} is null.
-     */
-    @NotNull
-    private static FeignDecorators feignDecorator(@NotNull SimilarWebClientConfig config) {
-        RateLimiterConfig rateLimiterConfig = RateLimiterConfig.custom()
-                .limitForPeriod(config.getLimitForPeriod())
-                .limitRefreshPeriod(Duration.ofSeconds(config.getRefreshPeriod()))
-                .timeoutDuration(Duration.ofMillis(config.getTimeoutDuration()))
-                .build();
-
-        RateLimiterRegistry registry = RateLimiterRegistry.of(rateLimiterConfig);
-        RateLimiter rateLimiter = registry.rateLimiter(SW_API_RL);
-
-        return FeignDecorators.builder()
-                .withRateLimiter(rateLimiter)
-                .build();
+     * @param config The SimilarWebClientConfig containing the connection settings.
+     * @return The shared OkHttp client.
+     */
+    private static okhttp3.OkHttpClient okHttpClient(SimilarWebClientConfig config) {
+        List<Object> settings = Arrays.asList(config.getMaxIdleConnections(), config.getKeepAliveDuration(),
+                config.getMaxRequests(), config.getMaxRequestsPerHost(), config.isHttp2Enabled());
+
+        return HTTP_CLIENTS.computeIfAbsent(settings, key -> {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(config.getMaxRequests());
+            dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+
+            return new okhttp3.OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(config.getMaxIdleConnections(), config.getKeepAliveDuration(), TimeUnit.SECONDS))
+                    .dispatcher(dispatcher)
+                    .protocols(config.isHttp2Enabled()
+                            ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                            : List.of(Protocol.HTTP_1_1))
+                    .build();
+        });
+    }
+
+    /**
+     * Returns the registry holding the rate limiters of every API key.
+     * With adaptive rate limiting enabled, the current {@code limitForPeriod} of each limiter can be read from it.
+     *
+     * @return The shared {@link RateLimiterRegistry}.
+     */
+    public static RateLimiterRegistry getRateLimiterRegistry() {
+        return RATE_LIMITER_REGISTRY;
+    }
+
+    /**
+     * Returns the per API key rate limiters used by the SimilarWeb clients.
+     *
+     * Limiters live in the shared {@link RateLimiterRegistry}. A limiter which already exists is returned as is,
+     * so every client built in this JVM shares the quota of each key. Configs with the same rate limit settings share
+     * one instance, and with it the {@link AdaptiveRateController} tuning the limits.
+     *
+     * @param config The {@link SimilarWebClientConfig} containing the rate limit options.
+     * @return The {@link ApiKeyRateLimiters}.
+     */
+    private static ApiKeyRateLimiters rateLimiters(SimilarWebClientConfig config) {
+        List<Object> settings = Arrays.asList(config.getLimitForPeriod(), config.getLimitForPeriodByApiKey(),
+                config.getRefreshPeriod(), config.getTimeoutDuration(), config.isAdaptiveRateLimitEnabled(),
+                config.getAdaptiveMinLimitForPeriod(), config.getAdaptiveMaxLimitForPeriod(),
+                config.getRateLimitRemainingHeader(), config.getMetrics());
+
+        return RATE_LIMITERS.computeIfAbsent(settings, key -> new ApiKeyRateLimiters(RATE_LIMITER_REGISTRY, config));
+    }
+
+    /**
+     * Returns the scheduler handing out rate limiter permits by priority, creating it on first use.
+     * Schedulers are shared between clients with the same priority weights.
+     *
+     * @param config The {@link SimilarWebClientConfig} containing the priority weights.
+     * @return The shared {@link PermitScheduler}.
+     */
+    private static PermitScheduler permitScheduler(SimilarWebClientConfig config) {
+        Map<RequestPriority, Integer> weights = Map.of(
+                RequestPriority.INTERACTIVE, config.getInteractiveWeight(),
+                RequestPriority.BATCH, config.getBatchWeight());
+
+        return PERMIT_SCHEDULERS.computeIfAbsent(weights, PermitScheduler::new);
     }
 
 }
@@ -0,0 +1,35 @@
+package com.similarweb.client;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.Value;
+
+/**
+ * The identity of a single {@link SWApi} call: the endpoint plus every parameter which affects the response.
+ * The API key only authenticates the call, so it is excluded from equality and never printed.
+ */
+@Value
+@Builder(toBuilder = true)
+public class SwApiCall {
+    String endpoint;
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    String apiKey;
+    /**
+     * The domain for website endpoints or the segment id for segment endpoints.
+     */
+    String target;
+    String startDate;
+    String endDate;
+    String country;
+    String granularity;
+    boolean mainDomainOnly;
+
+    /**
+     * @return true if the call asks for the latest available data rather than an explicit date range.
+     */
+    public boolean isLatest() {
+        return startDate == null && endDate == null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.similarweb.client;
+
+import feign.FeignException;
+import feign.RetryableException;
+import feign.Response;
+import feign.codec.ErrorDecoder;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * An {@link ErrorDecoder} which separates transient from permanent failures.
+ *
+ * Responses with one of the configured retryable status codes become a {@link RetryableException}, carrying the
+ * {@code Retry-After} header (in seconds or as an HTTP date) if present. Every other status is a permanent failure
+ * and is never retried.
+ */
+public class SwErrorDecoder implements ErrorDecoder {
+    private static final String RETRY_AFTER = "Retry-After";
+
+    private final Set<Integer> retryableStatusCodes;
+
+    public SwErrorDecoder(Set<Integer> retryableStatusCodes) {
+        this.retryableStatusCodes = retryableStatusCodes;
+    }
+
+    @Override
+    public Exception decode(String methodKey, Response response) {
+        FeignException exception = FeignException.errorStatus(methodKey, response);
+        if (!retryableStatusCodes.contains(response.status())) {
+            return exception;
+        }
+
+        return new RetryableException(response.status(), exception.getMessage(), response.request().httpMethod(),
+                exception, retryAfter(response), response.request());
+    }
+
+    private static Date retryAfter(Response response) {
+        Collection<String> values = response.headers().get(RETRY_AFTER);
+        if (values == null) {
+            values = response.headers().get(RETRY_AFTER.toLowerCase());
+        }
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+
+        String value = values.iterator().next().trim();
+        try {
+            return new Date(System.currentTimeMillis() + Long.parseLong(value) * 1000L);
+        } catch (NumberFormatException e) {
+            try {
+                return Date.from(ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+            } catch (DateTimeParseException ex) {
+                return null;
+            }
+        }
+    }
+}
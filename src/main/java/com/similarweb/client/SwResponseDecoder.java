@@ -0,0 +1,125 @@
+package com.similarweb.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.similarweb.model.SIMILARWEB_METRICS;
+import com.similarweb.model.traffic_and_engagement.Meta;
+import com.similarweb.model.unified.Metric;
+import com.similarweb.model.unified.MetricSeries;
+import com.similarweb.model.unified.SwResponse;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import feign.jackson.JacksonDecoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * A {@link Decoder} which reads time series responses straight into a {@link SwResponse}.
+ *
+ * The body is read once with the Jackson streaming parser: {@code meta} is bound to {@link Meta} and the data array
+ * ({@code visits}, {@code unique_visitors}, {@code segments}, ...) is collected into a {@link MetricSeries}, without
+ * intermediate DTOs, and exposed as the {@link Metric} values. Points without their value field, or with a null
+ * value, are kept as missing values. Any other return type is decoded by a {@link JacksonDecoder}.
+ *
+ * For the endpoint of a {@link SIMILARWEB_METRICS}, the data array and the value field of its points are both named
+ * after {@link SIMILARWEB_METRICS#getField()}. For the segment endpoint, the data array is the first one and the value
+ * field is {@code visits}, the metric it is queried for. For any other endpoint, the data array is the first one and the
+ * value field is named like it.
+ */
+public class SwResponseDecoder implements Decoder {
+    private static final String META = "meta";
+    private static final String DATE = "date";
+    private static final String SEGMENT_VALUE_FIELD = "visits";
+
+    private final ObjectMapper mapper;
+    private final Decoder delegate;
+
+    public SwResponseDecoder() {
+        this(new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+    }
+
+    public SwResponseDecoder(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.delegate = new JacksonDecoder(mapper);
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (type != SwResponse.class) {
+            return delegate.decode(response, type);
+        }
+        if (response.body() == null) {
+            return null;
+        }
+
+        try (InputStream body = response.body().asInputStream();
+             JsonParser parser = mapper.getFactory().createParser(body)) {
+            String endpoint = MeteredClient.endpointOf(response.request());
+            SIMILARWEB_METRICS metric = SIMILARWEB_METRICS.fromPath(endpoint);
+            if (metric != null) {
+                return read(parser, metric.getField(), metric.getField());
+            }
+
+            return read(parser, null, ForwardingSWApi.SEGMENT.equals(endpoint) ? SEGMENT_VALUE_FIELD : null);
+        } catch (IOException e) {
+            throw new DecodeException(response.status(), "Cannot decode SimilarWeb response: " + e.getMessage(),
+                    response.request(), e);
+        }
+    }
+
+    /**
+     * @param dataField  The name of the data array, or null to read the first array.
+     * @param valueField The name of the value field of the points, or null to use the name of the data array.
+     */
+    private SwResponse read(JsonParser parser, String dataField, String valueField) throws IOException {
+        SwResponse swResponse = new SwResponse();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object, got " + parser.currentToken());
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (META.equals(field) && token == JsonToken.START_OBJECT) {
+                swResponse.setMeta(mapper.readValue(parser, Meta.class));
+            } else if (token == JsonToken.START_ARRAY && swResponse.getValues() == null
+                    && (dataField == null || dataField.equals(field))) {
+                swResponse.setValues(readValues(parser, valueField == null ? field : valueField));
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return swResponse;
+    }
+
+    private static List<Metric> readValues(JsonParser parser, String valueField) throws IOException {
+        MetricSeries.Builder values = MetricSeries.builder();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String date = null;
+            Double value = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (DATE.equals(field)) {
+                    date = parser.getValueAsString();
+                } else if (valueField.equals(field) && token.isNumeric()) {
+                    value = parser.getDoubleValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (date != null) {
+                values.add(date, value);
+            }
+        }
+
+        return values.build().asMetrics();
+    }
+}
@@ -1,25 +1,140 @@
 package com.similarweb.config;
 
+import com.similarweb.metrics.SwMetrics;
 import feign.Logger;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+import java.util.Set;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class SimilarWebClientConfig {
+    @Builder.Default
     private int readTimeout = 7 * 1000; // in ms
+    @Builder.Default
     private int connectTimeout = 9 * 1000; // in ms
+    @Builder.Default
     private Logger.Level logLevel = Logger.Level.FULL;
+    @Builder.Default
     private String similarWebUrl = "https://api.similarweb.com";
 
+    // HTTP Config
+    @Builder.Default
+    private int maxIdleConnections = 16;
+    @Builder.Default
+    private int keepAliveDuration = 5 * 60; // in seconds
+    @Builder.Default
+    private int maxRequests = 128; // max concurrent requests of the dispatcher
+    @Builder.Default
+    private int maxRequestsPerHost = 64;
+    @Builder.Default
+    private boolean http2Enabled = true; // negotiated through ALPN, falls back to HTTP/1.1
+
     private String apiKey;
 
     // Rate Limit Config
+    @Builder.Default
     private int limitForPeriod = 1;
+    @Builder.Default
     private int refreshPeriod = 1; // in seconds
+    @Builder.Default
     private int timeoutDuration = 20000; // in milli-seconds
+    @Builder.Default
+    private long asyncPermitTimeout = 0; // in ms, max time an async request queues for a permit, 0 waits indefinitely
+    @Builder.Default
+    private Map<String, Integer> limitForPeriodByApiKey = Map.of(); // per API key override of limitForPeriod
+
+    // Priority Config, share of the permits each class receives while both are waiting
+    @Builder.Default
+    private int interactiveWeight = 9;
+    @Builder.Default
+    private int batchWeight = 1;
+
+    // Adaptive Rate Limit Config
+    @Builder.Default
+    private boolean adaptiveRateLimitEnabled = false;
+    @Builder.Default
+    private int adaptiveMinLimitForPeriod = 1;
+    @Builder.Default
+    private int adaptiveMaxLimitForPeriod = 10;
+    @Builder.Default
+    private String rateLimitRemainingHeader = "X-RateLimit-Remaining";
+
+    // Retry Config
+    @Builder.Default
+    private int retryMaxAttempts = 5; // including the first attempt
+    @Builder.Default
+    private long retryBaseDelay = 500; // in ms
+    @Builder.Default
+    private long retryMaxDelay = 30 * 1000; // in ms, Retry-After may exceed it
+    @Builder.Default
+    private long retryDeadline = 60 * 1000; // in ms, no attempt starts later than this after the first one
+    @Builder.Default
+    private Set<Integer> retryableStatusCodes = Set.of(429, 500, 502, 503, 504);
+
+    // Hedging Config
+    @Builder.Default
+    private boolean hedgingEnabled = false; // resend slow interactive requests, the first response wins
+    @Builder.Default
+    private double hedgePercentile = 95; // latency percentile of the endpoint after which a request is hedged
+    @Builder.Default
+    private long hedgeMinDelay = 200; // in ms
+    @Builder.Default
+    private double hedgeBudget = 0.05; // hedges earned per request, i.e. the max share of requests which are hedged
+
+    // Batch Config
+    @Builder.Default
+    private int batchParallelism = 4; // max in-flight requests per batch
+    @Builder.Default
+    private boolean batchVirtualThreads = false; // one virtual thread per request, needs a Java 21 runtime
+    @Builder.Default
+    private boolean batchQueryPlanning = true; // merge overlapping or adjacent batch ranges into shared calls
+
+    // Partition Config
+    @Builder.Default
+    private int partitionMonths = 0; // split daily windows into chunks of this many months (3 for quarters), 0 disables
+    @Builder.Default
+    private int partitionParallelism = 4; // max in-flight chunks across all partitioned requests
+
+    // Freshness Config
+    @Builder.Default
+    private boolean freshnessEnabled = true; // track meta.last_updated, see the cache TTLs
+
+    // Coalescing Config
+    @Builder.Default
+    private boolean coalescingEnabled = true; // share one upstream call between identical concurrent requests
+
+    // Latest Period Config: requests without dates reuse the latest period learnt per metric and granularity
+    @Builder.Default
+    private long latestPeriodTtl = 60; // in minutes, 0 disables
+
+    // Cache Config
+    @Builder.Default
+    private boolean cacheEnabled = false;
+    @Builder.Default
+    private long cacheMaximumSize = 10_000; // in responses
+    @Builder.Default
+    private long cacheHistoricalTtl = 30 * 24 * 60; // in minutes, windows ending before the current month
+    // TTLs of windows reaching into the current month. With freshness enabled, they are extended until the next
+    // expected release, but only once a release cadence was observed; the default cadence never extends them.
+    @Builder.Default
+    private long cacheCurrentMonthlyTtl = 12 * 60; // in minutes, monthly windows reaching into the current month
+    @Builder.Default
+    private long cacheCurrentDailyTtl = 3 * 60; // in minutes, daily/weekly windows reaching into the current month
+
+    // Disk Cache Config
+    @Builder.Default
+    private boolean diskCacheEnabled = false;
+    @Builder.Default
+    private String diskCacheDirectory = ".similarweb-cache";
+
+    // Metrics Config
+    @Builder.Default
+    private SwMetrics metrics = SwMetrics.NOOP; // e.g. new MicrometerSwMetrics(meterRegistry)
 }
@@ -0,0 +1,111 @@
+package com.similarweb.export;
+
+import com.similarweb.model.unified.MetricSeries;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A {@link SeriesSink} writing RFC 4180 CSV with a header row.
+ *
+ * Rows go through a fixed size buffer and are flushed to the file every {@code rowGroupSize} rows, so memory use does
+ * not depend on the size of the export and a crashed export keeps every complete row group.
+ */
+public class CsvSeriesSink implements SeriesSink {
+    static final String HEADER = "domain,metric,country,granularity,date,value";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private final int rowGroupSize;
+    private int pendingRows;
+    private long rowCount;
+
+    /**
+     * @param writer       The writer to write the CSV to. It is closed with the sink.
+     * @param rowGroupSize The number of rows after which the writer is flushed.
+     * @throws IOException if the header cannot be written.
+     */
+    public CsvSeriesSink(Writer writer, int rowGroupSize) throws IOException {
+        if (rowGroupSize < 1) {
+            throw new IllegalArgumentException("Row group size must be positive, got: " + rowGroupSize);
+        }
+        this.writer = writer;
+        this.rowGroupSize = rowGroupSize;
+        this.writer.write(HEADER);
+        this.writer.write('\n');
+    }
+
+    /**
+     * Creates or truncates the file and writes the header.
+     *
+     * @param path         The CSV file.
+     * @param rowGroupSize The number of rows after which the file is flushed.
+     * @return The sink.
+     * @throws IOException if the file cannot be created.
+     */
+    public static CsvSeriesSink open(Path path, int rowGroupSize) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        return new CsvSeriesSink(writer, rowGroupSize);
+    }
+
+    @Override
+    public void write(String domain, String metric, String country, String granularity, MetricSeries series)
+            throws IOException {
+        String prefix = escape(domain) + ',' + escape(metric) + ',' + escape(country) + ',' + escape(granularity) + ',';
+        for (int i = 0; i < series.size(); i++) {
+            writer.write(prefix);
+            writer.write(series.date(i).toString());
+            writer.write(',');
+            if (series.hasValue(i)) {
+                writer.write(format(series.value(i)));
+            }
+            writer.write('\n');
+
+            rowCount++;
+            if (++pendingRows == rowGroupSize) {
+                writer.flush();
+                pendingRows = 0;
+            }
+        }
+    }
+
+    /**
+     * @return The number of rows written, without the header.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Formats whole values without a fraction or exponent, e.g. visits, and any other value as a plain double.
+     */
+    private static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+
+        return Double.toString(value);
+    }
+
+    private static String escape(String field) {
+        if (field == null) {
+            return "";
+        }
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,85 @@
+package com.similarweb.export;
+
+import com.similarweb.model.request.SwSegmentRequest;
+import com.similarweb.model.request.SwTrafficRequest;
+import com.similarweb.model.unified.BatchResult;
+import com.similarweb.model.unified.SwResponse;
+import com.similarweb.service.BatchSimilarWebService;
+import com.similarweb.service.ResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams batch results into a {@link SeriesSink} as they complete.
+ *
+ * Each result is written and released before the next one is taken. Combined with the backpressure of
+ * {@link BatchSimilarWebService}, which only dispatches a request once a result was consumed, a crawl of any size
+ * holds at most {@code batchParallelism} responses in memory, and runs no faster than the sink can write.
+ * Failed requests are logged and skipped.
+ */
+public final class SeriesExporter {
+    private static Logger log = LoggerFactory.getLogger(SeriesExporter.class);
+
+    private SeriesExporter() {
+    }
+
+    /**
+     * Writes the total traffic and engagement results, one row per point, using the request domain.
+     *
+     * @param results The results, e.g. from {@link BatchSimilarWebService#getTotalTrafficAndEngagement}.
+     * @param sink    The sink to write to. It is not closed.
+     * @return The number of responses written.
+     * @throws IOException if the sink fails, in which case the remaining results are not consumed.
+     */
+    public static long exportTrafficAndEngagement(Stream<BatchResult<SwTrafficRequest>> results, SeriesSink sink)
+            throws IOException {
+        long exported = 0;
+        for (Iterator<BatchResult<SwTrafficRequest>> it = results.iterator(); it.hasNext(); ) {
+            BatchResult<SwTrafficRequest> result = it.next();
+            SwTrafficRequest request = result.getRequest();
+            if (write(result, request.getDomain(), request.getCountry(), request.getGranularity(), sink)) {
+                exported++;
+            }
+        }
+
+        return exported;
+    }
+
+    /**
+     * Writes the segment results, one row per point, using the segment id as domain.
+     *
+     * @param results The results, e.g. from {@link BatchSimilarWebService#getSegmentData}.
+     * @param sink    The sink to write to. It is not closed.
+     * @return The number of responses written.
+     * @throws IOException if the sink fails, in which case the remaining results are not consumed.
+     */
+    public static long exportSegmentData(Stream<BatchResult<SwSegmentRequest>> results, SeriesSink sink)
+            throws IOException {
+        long exported = 0;
+        for (Iterator<BatchResult<SwSegmentRequest>> it = results.iterator(); it.hasNext(); ) {
+            BatchResult<SwSegmentRequest> result = it.next();
+            SwSegmentRequest request = result.getRequest();
+            if (write(result, request.getSegmentId(), request.getCountry(), request.getGranularity(), sink)) {
+                exported++;
+            }
+        }
+
+        return exported;
+    }
+
+    private static boolean write(BatchResult<?> result, String domain, String country, String granularity,
+                                 SeriesSink sink) throws IOException {
+        SwResponse response = result.getResponse();
+        if (!result.isSuccess() || response == null) {
+            log.warn("[SeriesExporter] | Skipping failed request: {}", result.getRequest(), result.getError());
+            return false;
+        }
+
+        sink.write(domain, response.getName(), country, granularity, ResponseWrapper.toSeries(response));
+        return true;
+    }
+}
@@ -0,0 +1,27 @@
+package com.similarweb.export;
+
+import com.similarweb.model.unified.MetricSeries;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A destination for fetched series, written as one row per point:
+ * {@code domain, metric, country, granularity, date, value}.
+ *
+ * Sinks receive each series as soon as its request completes and must not hold on to it, so that exports of any size
+ * run in constant memory. Closing the sink flushes every row written so far.
+ */
+public interface SeriesSink extends Closeable {
+    /**
+     * Writes one row per point of the series.
+     *
+     * @param domain      The domain, or the segment id for segment data.
+     * @param metric      The metric name, e.g. {@link com.similarweb.model.SIMILARWEB_METRICS#getAlias()}.
+     * @param country     The country.
+     * @param granularity The granularity.
+     * @param series      The points. Missing values are written as empty values.
+     * @throws IOException if the rows cannot be written.
+     */
+    void write(String domain, String metric, String country, String granularity, MetricSeries series) throws IOException;
+}
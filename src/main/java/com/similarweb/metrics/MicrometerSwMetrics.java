@@ -0,0 +1,115 @@
+package com.similarweb.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the {@link SwMetrics} of the SimilarWeb clients in a Micrometer {@link MeterRegistry}:
+ * <ul>
+ *     <li>{@code similarweb.client.requests}: timer per endpoint and status, with p50/p95/p99.</li>
+ *     <li>{@code similarweb.client.response.size}: bytes received per endpoint.</li>
+ *     <li>{@code similarweb.client.ratelimiter.wait}: permit wait time per rate limiter, with p50/p95/p99.</li>
+ *     <li>{@code similarweb.client.ratelimiter.limit}: gauge of the current permits per refresh period of each rate
+ *     limiter, which follows adaptive rate limiting.</li>
+ *     <li>{@code similarweb.client.retries}: retries per endpoint and status of the failed attempt.</li>
+ *     <li>{@code similarweb.client.decode}: decode time per endpoint.</li>
+ *     <li>{@code similarweb.client.cache}: lookups per cache, endpoint and result ({@code hit} or {@code miss}),
+ *     from which the hit ratio is derived.</li>
+ *     <li>{@code similarweb.client.hedges}: hedges per endpoint and result ({@code won} or {@code lost}).</li>
+ * </ul>
+ * Micrometer is an optional dependency, it must be on the classpath to use this class.
+ */
+public class MicrometerSwMetrics implements SwMetrics {
+    private static final String PREFIX = "similarweb.client.";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, AtomicInteger> rateLimits = new ConcurrentHashMap<>();
+
+    public MicrometerSwMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void recordRequest(String endpoint, int status, long latencyNanos) {
+        Timer.builder(PREFIX + "requests")
+                .tag("endpoint", endpoint)
+                .tag("status", status == 0 ? "IO_ERROR" : String.valueOf(status))
+                .publishPercentiles(PERCENTILES)
+                .register(registry)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordBytesReceived(String endpoint, long bytes) {
+        DistributionSummary.builder(PREFIX + "response.size")
+                .baseUnit("bytes")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(bytes);
+    }
+
+    @Override
+    public void recordRateLimiterWait(String rateLimiter, long waitNanos) {
+        Timer.builder(PREFIX + "ratelimiter.wait")
+                .tag("limiter", rateLimiter)
+                .publishPercentiles(PERCENTILES)
+                .register(registry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRateLimit(String rateLimiter, int limitForPeriod) {
+        rateLimits.computeIfAbsent(rateLimiter, name -> {
+            AtomicInteger limit = new AtomicInteger();
+            Gauge.builder(PREFIX + "ratelimiter.limit", limit, AtomicInteger::get)
+                    .tag("limiter", name)
+                    .register(registry);
+            return limit;
+        }).set(limitForPeriod);
+    }
+
+    @Override
+    public void recordRetry(String endpoint, int status) {
+        Counter.builder(PREFIX + "retries")
+                .tag("endpoint", endpoint)
+                .tag("status", status == 0 ? "IO_ERROR" : String.valueOf(status))
+                .register(registry)
+                .increment();
+    }
+
+    @Override
+    public void recordDecode(String endpoint, long decodeNanos) {
+        Timer.builder(PREFIX + "decode")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(decodeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordCacheAccess(String cache, String endpoint, boolean hit) {
+        Counter.builder(PREFIX + "cache")
+                .tag("cache", cache)
+                .tag("endpoint", endpoint)
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+    }
+
+    @Override
+    public void recordHedge(String endpoint, boolean won) {
+        Counter.builder(PREFIX + "hedges")
+                .tag("endpoint", endpoint)
+                .tag("result", won ? "won" : "lost")
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,91 @@
+package com.similarweb.metrics;
+
+/**
+ * Receives measurements from the SimilarWeb clients. Every method does nothing by default, so an implementation only
+ * overrides what it needs. Set it through {@link com.similarweb.config.SimilarWebClientConfig#getMetrics()};
+ * {@link MicrometerSwMetrics} binds it to a Micrometer {@code MeterRegistry}.
+ *
+ * Endpoints are named like the {@code ForwardingSWApi} endpoint constants, e.g.
+ * {@code total-traffic-and-engagement/visits}. Implementations are called on request threads and must be thread-safe.
+ */
+public interface SwMetrics {
+    /**
+     * Records nothing.
+     */
+    SwMetrics NOOP = new SwMetrics() {
+    };
+
+    /**
+     * Called once per HTTP attempt, including retries.
+     *
+     * @param endpoint     The endpoint.
+     * @param status       The HTTP status, or 0 if no response was received.
+     * @param latencyNanos The time until the response headers were received, in ns.
+     */
+    default void recordRequest(String endpoint, int status, long latencyNanos) {
+    }
+
+    /**
+     * Called once the body of a response has been read.
+     *
+     * @param endpoint The endpoint.
+     * @param bytes    The number of body bytes read.
+     */
+    default void recordBytesReceived(String endpoint, long bytes) {
+    }
+
+    /**
+     * Called once per permit acquisition, whether or not a permit was granted.
+     *
+     * @param rateLimiter The name of the rate limiter.
+     * @param waitNanos   The time spent waiting for the permit, in ns.
+     */
+    default void recordRateLimiterWait(String rateLimiter, long waitNanos) {
+    }
+
+    /**
+     * Called when a rate limiter is first used, and whenever its limit changes, e.g. through adaptive rate limiting.
+     *
+     * @param rateLimiter    The name of the rate limiter.
+     * @param limitForPeriod The number of permits it now hands out per refresh period.
+     */
+    default void recordRateLimit(String rateLimiter, int limitForPeriod) {
+    }
+
+    /**
+     * Called before each retry.
+     *
+     * @param endpoint The endpoint.
+     * @param status   The HTTP status of the failed attempt, or 0 if no response was received.
+     */
+    default void recordRetry(String endpoint, int status) {
+    }
+
+    /**
+     * Called once per decoded response.
+     *
+     * @param endpoint    The endpoint.
+     * @param decodeNanos The time spent decoding the body, in ns.
+     */
+    default void recordDecode(String endpoint, long decodeNanos) {
+    }
+
+    /**
+     * Called on every lookup of a response cache.
+     *
+     * @param cache    The cache, {@code memory} or {@code disk}.
+     * @param endpoint The endpoint.
+     * @param hit      Whether the response was served from the cache.
+     */
+    default void recordCacheAccess(String cache, String endpoint, boolean hit) {
+    }
+
+    /**
+     * Called once per hedge, i.e. a second attempt sent for a slow request, once it completes.
+     *
+     * @param endpoint The endpoint.
+     * @param won      Whether the response of the hedge was used, i.e. it arrived before the first attempt.
+     */
+    default void recordHedge(String endpoint, boolean won) {
+    }
+}
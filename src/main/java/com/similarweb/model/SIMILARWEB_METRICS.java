@@ -2,13 +2,46 @@ package com.similarweb.model;
 
 import lombok.Getter;
 
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The website metrics of the SimilarWeb API. Each metric declares the path of its endpoint below
+ * {@code /v1/website/{domain}/} and the name of its JSON data array, which is also the name of the value field of
+ * each point, so that a single endpoint can fetch and decode any of them.
+ */
 @Getter
 public enum SIMILARWEB_METRICS {
-    VISITS("VISITS"), UNIQUE_VISITS_DESKTOP("UNIQUE_VISITS_DESKTOP"),
-    UNIQUE_VISITS_MOBILE("UNIQUE_VISITS_MOBILE");;
-    private String alias;
+    VISITS("VISITS", "total-traffic-and-engagement/visits", "visits"),
+    UNIQUE_VISITS_DESKTOP("UNIQUE_VISITS_DESKTOP", "unique-visitors/desktop_unique_visitors", "unique_visitors"),
+    UNIQUE_VISITS_MOBILE("UNIQUE_VISITS_MOBILE", "unique-visitors/mobileweb_unique_visitors", "unique_visitors"),
+    BOUNCE_RATE("BOUNCE_RATE", "total-traffic-and-engagement/bounce-rate", "bounce_rate"),
+    AVG_VISIT_DURATION("AVG_VISIT_DURATION", "total-traffic-and-engagement/average-visit-duration", "average_visit_duration"),
+    PAGE_VIEWS("PAGE_VIEWS", "total-traffic-and-engagement/page-views", "pages_views");
+
+    private static final Map<String, SIMILARWEB_METRICS> BY_PATH = new HashMap<>();
+
+    static {
+        for (SIMILARWEB_METRICS metric : values()) {
+            BY_PATH.put(metric.path, metric);
+        }
+    }
 
-    SIMILARWEB_METRICS(String alias) {
+    private final String alias;
+    private final String path;
+    private final String field;
+
+    SIMILARWEB_METRICS(String alias, String path, String field) {
         this.alias = alias;
+        this.path = path;
+        this.field = field;
+    }
+
+    /**
+     * @param path An endpoint path, e.g. {@code total-traffic-and-engagement/visits}.
+     * @return The metric served by the endpoint, or null if the path is not a website metric endpoint.
+     */
+    public static SIMILARWEB_METRICS fromPath(String path) {
+        return BY_PATH.get(path);
     }
 }
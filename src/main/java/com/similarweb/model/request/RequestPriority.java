@@ -0,0 +1,16 @@
+package com.similarweb.model.request;
+
+/**
+ * The priority class of a request. When requests of both classes wait for the same rate limiter, permits are shared
+ * between them according to {@code interactiveWeight} and {@code batchWeight} of the client config.
+ */
+public enum RequestPriority {
+    /**
+     * User-facing lookups, which should not wait behind bulk work. The default.
+     */
+    INTERACTIVE,
+    /**
+     * Backfills and other bulk work, which soaks up the quota left by interactive requests.
+     */
+    BATCH
+}
@@ -6,7 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class SwSegmentRequest {
@@ -20,4 +20,7 @@ public class SwSegmentRequest {
     // Meta Data
     private String alias;
     private String segmentName;
+
+    @Builder.Default
+    private RequestPriority priority = RequestPriority.INTERACTIVE;
 }
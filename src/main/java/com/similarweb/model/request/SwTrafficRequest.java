@@ -6,7 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class SwTrafficRequest {
@@ -17,4 +17,7 @@ public class SwTrafficRequest {
     private String granularity;
     private boolean isOnlyMainDomain;
     private String domain;
+
+    @Builder.Default
+    private RequestPriority priority = RequestPriority.INTERACTIVE;
 }
@@ -1,6 +1,8 @@
 package com.similarweb.model.traffic_and_engagement;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.similarweb.model.unified.Freshness;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,6 +15,11 @@ public class Meta {
     private Request request;
     private String status;
     private String last_updated;
+    /**
+     * Set by the client when the response is fetched, never read from the response.
+     */
+    @JsonIgnore
+    private Freshness freshness;
 
     @Data
     @NoArgsConstructor
@@ -0,0 +1,30 @@
+package com.similarweb.model.unified;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The outcome of a single request within a batch: either the response or the error that caused it to fail.
+ *
+ * @param <R> The type of the originating request.
+ */
+@Data
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BatchResult<R> {
+    private final R request;
+    private final SwResponse response;
+    private final Throwable error;
+
+    public static <R> BatchResult<R> success(R request, SwResponse response) {
+        return new BatchResult<>(request, response, null);
+    }
+
+    public static <R> BatchResult<R> failure(R request, Throwable error) {
+        return new BatchResult<>(request, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
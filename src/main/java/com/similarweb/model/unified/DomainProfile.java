@@ -0,0 +1,151 @@
+package com.similarweb.model.unified;
+
+import com.similarweb.model.SIMILARWEB_METRICS;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Several metrics of one domain, aligned by date. The dates are the union of the dates of every fetched metric, in
+ * ascending order, and each metric holds one value per date; a date missing from a metric, or a point without a value,
+ * is {@link Double#NaN}.
+ *
+ * Metrics which could not be fetched are reported by {@link #getFailures()} instead of failing the whole profile.
+ */
+public final class DomainProfile {
+    private final String domain;
+    private final int[] epochDays;
+    private final Map<SIMILARWEB_METRICS, double[]> values;
+    private final Map<SIMILARWEB_METRICS, SwResponse> responses;
+    private final Map<SIMILARWEB_METRICS, Throwable> failures;
+
+    private DomainProfile(String domain, int[] epochDays, Map<SIMILARWEB_METRICS, double[]> values,
+                          Map<SIMILARWEB_METRICS, SwResponse> responses, Map<SIMILARWEB_METRICS, Throwable> failures) {
+        this.domain = domain;
+        this.epochDays = epochDays;
+        this.values = values;
+        this.responses = responses;
+        this.failures = failures;
+    }
+
+    /**
+     * @param domain    The domain.
+     * @param responses The response of each metric which was fetched.
+     * @param failures  The cause of failure of each metric which was not.
+     * @return The profile holding the given responses aligned by date.
+     */
+    public static DomainProfile of(String domain, Map<SIMILARWEB_METRICS, SwResponse> responses,
+                                   Map<SIMILARWEB_METRICS, Throwable> failures) {
+        Map<SIMILARWEB_METRICS, MetricSeries> series = new EnumMap<>(SIMILARWEB_METRICS.class);
+        int points = 0;
+        for (Map.Entry<SIMILARWEB_METRICS, SwResponse> entry : responses.entrySet()) {
+            MetricSeries metricSeries = entry.getValue().getValues() == null
+                    ? MetricSeries.empty()
+                    : MetricSeries.of(entry.getValue().getValues());
+            series.put(entry.getKey(), metricSeries);
+            points += metricSeries.size();
+        }
+
+        int[] epochDays = new int[points];
+        int size = 0;
+        for (MetricSeries metricSeries : series.values()) {
+            for (int i = 0; i < metricSeries.size(); i++) {
+                epochDays[size++] = metricSeries.epochDay(i);
+            }
+        }
+        epochDays = distinctSorted(epochDays);
+
+        Map<SIMILARWEB_METRICS, double[]> values = new EnumMap<>(SIMILARWEB_METRICS.class);
+        for (Map.Entry<SIMILARWEB_METRICS, MetricSeries> entry : series.entrySet()) {
+            double[] aligned = new double[epochDays.length];
+            Arrays.fill(aligned, Double.NaN);
+            MetricSeries metricSeries = entry.getValue();
+            for (int i = 0; i < metricSeries.size(); i++) {
+                aligned[Arrays.binarySearch(epochDays, metricSeries.epochDay(i))] = metricSeries.value(i);
+            }
+            values.put(entry.getKey(), aligned);
+        }
+
+        return new DomainProfile(domain, epochDays, values, unmodifiableCopy(responses), unmodifiableCopy(failures));
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    /**
+     * @return The number of dates.
+     */
+    public int size() {
+        return epochDays.length;
+    }
+
+    public LocalDate date(int index) {
+        return LocalDate.ofEpochDay(epochDays[index]);
+    }
+
+    /**
+     * @return The value of the metric at the given date, or {@link Double#NaN} if it is missing or the metric was not
+     * fetched.
+     */
+    public double value(SIMILARWEB_METRICS metric, int index) {
+        double[] metricValues = values.get(metric);
+        return metricValues == null ? Double.NaN : metricValues[index];
+    }
+
+    /**
+     * @return The metrics which were fetched.
+     */
+    public Set<SIMILARWEB_METRICS> getMetrics() {
+        return responses.keySet();
+    }
+
+    /**
+     * @return The response of the given metric as fetched, or null if it was not fetched.
+     */
+    public SwResponse getResponse(SIMILARWEB_METRICS metric) {
+        return responses.get(metric);
+    }
+
+    /**
+     * @return The cause of failure of each metric which could not be fetched.
+     */
+    public Map<SIMILARWEB_METRICS, Throwable> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return true if every requested metric was fetched.
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "DomainProfile(domain=" + domain + ", size=" + size() + ", metrics=" + getMetrics()
+                + ", failures=" + failures.keySet() + ")";
+    }
+
+    private static <V> Map<SIMILARWEB_METRICS, V> unmodifiableCopy(Map<SIMILARWEB_METRICS, V> map) {
+        Map<SIMILARWEB_METRICS, V> copy = new EnumMap<>(SIMILARWEB_METRICS.class);
+        copy.putAll(map);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static int[] distinctSorted(int[] epochDays) {
+        Arrays.sort(epochDays);
+        int size = 0;
+        for (int i = 0; i < epochDays.length; i++) {
+            if (size == 0 || epochDays[i] != epochDays[size - 1]) {
+                epochDays[size++] = epochDays[i];
+            }
+        }
+
+        return Arrays.copyOf(epochDays, size);
+    }
+}
@@ -0,0 +1,47 @@
+package com.similarweb.model.unified;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * How fresh a response is: when its data was last updated upstream, as reported by {@code meta.last_updated}, and
+ * when newer data is expected, based on the release cadence observed for the same domain, endpoint and granularity.
+ */
+@Value
+@Builder
+public class Freshness {
+    /**
+     * The day the data was last updated upstream, or null if the response did not tell.
+     */
+    LocalDate lastUpdated;
+    Instant fetchedAt;
+    /**
+     * Whether {@link #lastUpdated} is newer than on the previous fetch of the same data, or this is the first fetch.
+     */
+    boolean updated;
+    /**
+     * The time between two upstream updates: the median of the observed intervals, or a default for the granularity
+     * until one was observed. Null if the last update is unknown.
+     */
+    Duration releaseCadence;
+    /**
+     * Whether {@link #releaseCadence} was observed between two updates, rather than the default for the granularity.
+     */
+    boolean cadenceObserved;
+    /**
+     * The earliest time newer data is expected, or null if it is already due or the last update is unknown.
+     */
+    Instant nextUpdateExpected;
+
+    /**
+     * @param now The current time.
+     * @return true if newer data may exist upstream at the given time, i.e. refetching may return something new.
+     */
+    public boolean mayHaveNewData(Instant now) {
+        return nextUpdateExpected == null || !now.isBefore(nextUpdateExpected);
+    }
+}
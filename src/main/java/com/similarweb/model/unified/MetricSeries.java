@@ -0,0 +1,253 @@
+package com.similarweb.model.unified;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A compact, immutable time series stored as two primitive columns: the epoch day of each point and its value.
+ * A missing value (e.g. a low confidence point) is stored as {@link Double#NaN}.
+ *
+ * Compared to a {@code List<Metric>}, a series holds no per-point objects, strings or boxed values.
+ * {@link #asMetrics()} exposes it as a {@code List<Metric>} for existing callers, which only turns into a list of
+ * {@link Metric} objects once it is accessed.
+ */
+public final class MetricSeries {
+    private static final MetricSeries EMPTY = new MetricSeries(new int[0], new double[0]);
+
+    private final int[] epochDays;
+    private final double[] values;
+
+    private MetricSeries(int[] epochDays, double[] values) {
+        this.epochDays = epochDays;
+        this.values = values;
+    }
+
+    public static MetricSeries empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder(16);
+    }
+
+    /**
+     * @param metrics Points with a {@code yyyy-MM-dd} or {@code yyyy-MM} date. Points without a date are skipped.
+     * @return The series holding the given points, in the same order.
+     */
+    public static MetricSeries of(List<Metric> metrics) {
+        if (metrics instanceof MetricsView && ((MetricsView) metrics).metrics == null) {
+            return ((MetricsView) metrics).series;
+        }
+
+        Builder builder = new Builder(metrics.size());
+        for (Metric metric : metrics) {
+            if (metric.getDate() != null) {
+                builder.add(metric.getDate(), metric.getValue());
+            }
+        }
+
+        return builder.build();
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    public int epochDay(int index) {
+        return epochDays[index];
+    }
+
+    public LocalDate date(int index) {
+        return LocalDate.ofEpochDay(epochDays[index]);
+    }
+
+    /**
+     * @return The value of the point, or {@link Double#NaN} if it is missing.
+     */
+    public double value(int index) {
+        return values[index];
+    }
+
+    public boolean hasValue(int index) {
+        return !Double.isNaN(values[index]);
+    }
+
+    /**
+     * @return A series holding only the points which have a value.
+     */
+    public MetricSeries withoutMissingValues() {
+        Builder builder = new Builder(size());
+        for (int i = 0; i < size(); i++) {
+            if (hasValue(i)) {
+                builder.add(epochDays[i], values[i]);
+            }
+        }
+
+        return builder.size() == size() ? this : builder.build();
+    }
+
+    /**
+     * Returns the series as a mutable {@code List<Metric>}. Dates are formatted as {@code yyyy-MM-dd}, missing values
+     * are null.
+     *
+     * The list holds no {@link Metric} objects until it is first accessed, when they are all created at once, so that
+     * a list which is only passed along, or turned back into a series, costs no per-point objects. From then on it
+     * behaves like an {@code ArrayList}: it can be sorted and modified, and its points are the same objects on every
+     * access. Changes to the list do not affect the series.
+     */
+    public List<Metric> asMetrics() {
+        return new MetricsView(this);
+    }
+
+    /**
+     * @param metrics A list of points.
+     * @return A copy of the list which can be modified independently. A list returned by {@link #asMetrics()} which
+     * was not accessed yet is copied without creating its points.
+     */
+    public static List<Metric> copyOf(List<Metric> metrics) {
+        if (metrics instanceof MetricsView && ((MetricsView) metrics).metrics == null) {
+            return new MetricsView(((MetricsView) metrics).series);
+        }
+
+        return new ArrayList<>(metrics);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MetricSeries)) {
+            return false;
+        }
+        MetricSeries that = (MetricSeries) o;
+        return Arrays.equals(epochDays, that.epochDays) && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(epochDays) + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "MetricSeries(size=" + size() + ")";
+    }
+
+    /**
+     * Collects points into a {@link MetricSeries}, growing its columns as needed.
+     */
+    public static final class Builder {
+        private int[] epochDays;
+        private double[] values;
+        private int size;
+
+        private Builder(int capacity) {
+            this.epochDays = new int[Math.max(capacity, 1)];
+            this.values = new double[Math.max(capacity, 1)];
+        }
+
+        /**
+         * @param date  A date in {@code yyyy-MM-dd} or {@code yyyy-MM} format.
+         * @param value The value, or null if it is missing.
+         */
+        public Builder add(String date, Double value) {
+            return add(toEpochDay(date), value == null ? Double.NaN : value);
+        }
+
+        public Builder add(long epochDay, double value) {
+            if (size == epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            epochDays[size] = Math.toIntExact(epochDay);
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public MetricSeries build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+
+            return new MetricSeries(Arrays.copyOf(epochDays, size), Arrays.copyOf(values, size));
+        }
+
+        private static long toEpochDay(String date) {
+            if (date.length() == 7) {
+                return YearMonth.parse(date).atDay(1).toEpochDay();
+            }
+
+            return LocalDate.parse(date.length() > 10 ? date.substring(0, 10) : date).toEpochDay();
+        }
+    }
+
+    /**
+     * Holds the series until the list is first accessed, then the points created from it.
+     */
+    private static final class MetricsView extends AbstractList<Metric> implements RandomAccess {
+        private final MetricSeries series;
+        private volatile List<Metric> metrics;
+
+        private MetricsView(MetricSeries series) {
+            this.series = series;
+        }
+
+        @Override
+        public Metric get(int index) {
+            return metrics().get(index);
+        }
+
+        @Override
+        public Metric set(int index, Metric element) {
+            return metrics().set(index, element);
+        }
+
+        @Override
+        public void add(int index, Metric element) {
+            metrics().add(index, element);
+            modCount++;
+        }
+
+        @Override
+        public Metric remove(int index) {
+            modCount++;
+            return metrics().remove(index);
+        }
+
+        @Override
+        public int size() {
+            List<Metric> points = metrics;
+            return points == null ? series.size() : points.size();
+        }
+
+        private List<Metric> metrics() {
+            List<Metric> points = metrics;
+            if (points == null) {
+                synchronized (this) {
+                    points = metrics;
+                    if (points == null) {
+                        points = new ArrayList<>(series.size());
+                        for (int i = 0; i < series.size(); i++) {
+                            points.add(new Metric(series.date(i).toString(),
+                                    series.hasValue(i) ? series.value(i) : null));
+                        }
+                        metrics = points;
+                    }
+                }
+            }
+
+            return points;
+        }
+    }
+}
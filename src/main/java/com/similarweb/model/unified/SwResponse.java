@@ -1,5 +1,6 @@
 package com.similarweb.model.unified;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.similarweb.model.traffic_and_engagement.BaseResponse;
 import lombok.AllArgsConstructor;
@@ -15,4 +16,12 @@ import java.util.List;
 public class SwResponse extends BaseResponse {
     private String name;
     private List<Metric> values;
+
+    /**
+     * @return The freshness of the response, or null if it was not fetched by a client tracking freshness.
+     */
+    @JsonIgnore
+    public Freshness getFreshness() {
+        return getMeta() == null ? null : getMeta().getFreshness();
+    }
 }
@@ -0,0 +1,275 @@
+package com.similarweb.service;
+
+import com.similarweb.client.AsyncSWApi;
+import com.similarweb.client.PriorityContext;
+import com.similarweb.client.SimilarWebApiClient;
+import com.similarweb.config.SimilarWebClientConfig;
+import com.similarweb.model.SIMILARWEB_METRICS;
+import com.similarweb.model.request.RequestPriority;
+import com.similarweb.model.request.SwSegmentRequest;
+import com.similarweb.model.request.SwTrafficRequest;
+import com.similarweb.model.traffic_and_engagement.bounce_rate.BounceRate;
+import com.similarweb.model.traffic_and_engagement.bounce_rate.BounceRates;
+import com.similarweb.model.traffic_and_engagement.page_views.PageView;
+import com.similarweb.model.traffic_and_engagement.page_views.PageViews;
+import com.similarweb.model.traffic_and_engagement.visit_duration.AvgVisitDuration;
+import com.similarweb.model.traffic_and_engagement.visit_duration.AvgVisitDurations;
+import com.similarweb.model.unified.DomainProfile;
+import com.similarweb.model.unified.SwResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * The AsyncSimilarWebService class is the non-blocking counterpart of {@link SimilarWebService}.
+ * Every method returns immediately with a {@link CompletableFuture}, so many requests can be in flight
+ * without holding a thread per request.
+ *
+ * As with {@link SimilarWebService}, failures are logged and the returned future completes with {@code null}.
+ * Requests wait for their rate limiter permit according to their {@link RequestPriority}.
+ */
+public final class AsyncSimilarWebService {
+    private static volatile AsyncSimilarWebService INSTANCE;
+    private final AsyncSWApi swApi;
+    private final LatestPeriodOracle latestPeriods;
+    private static Logger log = LoggerFactory.getLogger(AsyncSimilarWebService.class);
+
+    private AsyncSimilarWebService(SimilarWebClientConfig config) {
+        this.swApi = SimilarWebApiClient.getAsyncSwClient(config);
+        this.latestPeriods = new LatestPeriodOracle(Duration.ofMinutes(config.getLatestPeriodTtl()));
+    }
+
+    public static AsyncSimilarWebService getInstance() {
+        return getInstance(new SimilarWebClientConfig());
+    }
+
+    /**
+     * Returns the singleton instance, initializing it with the given config on first use.
+     * The config is ignored once the instance exists.
+     *
+     * @param config The SimilarWebClientConfig used to build the underlying client.
+     * @return The AsyncSimilarWebService instance.
+     */
+    public static AsyncSimilarWebService getInstance(SimilarWebClientConfig config) {
+        if (INSTANCE == null) {
+            synchronized (AsyncSimilarWebService.class) {
+                if (INSTANCE == null) {
+                    log.info("[AsyncSimilarWebService] | Initializing service");
+                    INSTANCE = new AsyncSimilarWebService(config);
+                }
+            }
+        }
+
+        return INSTANCE;
+    }
+
+    /**
+     * Fetches segment data based on the provided request.
+     *
+     * @param request The request object containing the necessary parameters to fetch the segment data.
+     * @return A future completed with the segment data, or with {@code null} if the call failed.
+     * @see SimilarWebService#getSegmentData(SwSegmentRequest)
+     */
+    public CompletableFuture<SwResponse> getSegmentData(SwSegmentRequest request) {
+        log.info("[AsyncSimilarWebService] | Fetching Segments Data for request: {}", request);
+        return dispatch(request.getPriority(), () -> this.swApi.getSegmentData(request.getApiKey(),
+                        request.getSegmentId(), request.getStartDate(), request.getEndDate(), request.getCountry(),
+                        request.getGranularity())
+                .thenApply(segmentData -> ResponseWrapper.wrap(segmentData, request)));
+    }
+
+    /**
+     * Fetches the total traffic and engagement data for a given domain.
+     * If both dates are missing, the latest available data is fetched.
+     *
+     * @param request The request object containing the necessary parameters.
+     * @return A future completed with the total traffic and engagement data, or with {@code null} if the call failed.
+     * @see SimilarWebService#getTotalTrafficAndEngagement(SwTrafficRequest)
+     */
+    public CompletableFuture<SwResponse> getTotalTrafficAndEngagement(SwTrafficRequest request) {
+        log.info("[AsyncSimilarWebService] | Fetching Visits for request: {}", request);
+        return recover(fetchMetric(request, SIMILARWEB_METRICS.VISITS));
+    }
+
+    /**
+     * Fetches the given metric for a given domain.
+     * If both dates are missing, the latest available data is fetched.
+     *
+     * @param request The request object containing the necessary parameters.
+     * @param metric  The metric to fetch.
+     * @return A future completed with the response named after the alias of the metric, or with {@code null} if the
+     * call failed.
+     * @see SimilarWebService#getMetric(SwTrafficRequest, SIMILARWEB_METRICS)
+     */
+    public CompletableFuture<SwResponse> getMetric(SwTrafficRequest request, SIMILARWEB_METRICS metric) {
+        log.info("[AsyncSimilarWebService] | Fetching {} for request: {}", metric.getAlias(), request);
+        return recover(fetchMetric(request, metric));
+    }
+
+    /**
+     * Fetches several metrics of a domain concurrently and aligns them by date. Every call waits for its own rate
+     * limiter permit, so the profile takes about as long as the slowest call once the permits are available.
+     *
+     * A metric which cannot be fetched, or comes back without any point, is reported by
+     * {@link DomainProfile#getFailures()}; the other metrics are still part of the profile.
+     *
+     * @param request The request object containing the necessary parameters.
+     * @param metrics The metrics to fetch.
+     * @return A future completed with the profile of the domain. It never completes exceptionally.
+     */
+    public CompletableFuture<DomainProfile> getDomainProfile(SwTrafficRequest request, Set<SIMILARWEB_METRICS> metrics) {
+        log.info("[AsyncSimilarWebService] | Fetching {} for request: {}", metrics, request);
+        Map<SIMILARWEB_METRICS, CompletableFuture<SwResponse>> calls = new EnumMap<>(SIMILARWEB_METRICS.class);
+        for (SIMILARWEB_METRICS metric : metrics) {
+            calls.put(metric, fetchMetric(request, metric));
+        }
+
+        return CompletableFuture.allOf(calls.values().toArray(new CompletableFuture<?>[0]))
+                .handle((ignored, e) -> {
+                    Map<SIMILARWEB_METRICS, SwResponse> responses = new EnumMap<>(SIMILARWEB_METRICS.class);
+                    Map<SIMILARWEB_METRICS, Throwable> failures = new EnumMap<>(SIMILARWEB_METRICS.class);
+                    calls.forEach((metric, call) -> {
+                        Throwable failure;
+                        try {
+                            SwResponse response = call.join();
+                            if (response != null && response.getValues() != null && !response.getValues().isEmpty()) {
+                                responses.put(metric, response);
+                                return;
+                            }
+                            failure = new IllegalStateException("Empty response");
+                        } catch (CompletionException completionException) {
+                            failure = completionException.getCause();
+                        }
+
+                        log.error("[AsyncSimilarWebService] | Failed to fetch {} for {}", metric.getAlias(),
+                                request.getDomain(), failure);
+                        failures.put(metric, failure);
+                    });
+
+                    return DomainProfile.of(request.getDomain(), responses, failures);
+                });
+    }
+
+    /**
+     * Fetches the total bounce rates for a given request.
+     *
+     * @param request The request object containing the necessary parameters.
+     * @return A future completed with the bounce rates, or with {@code null} if the call failed.
+     * @deprecated Use {@link #getMetric(SwTrafficRequest, SIMILARWEB_METRICS)} with
+     * {@link SIMILARWEB_METRICS#BOUNCE_RATE}, which completes with a {@link SwResponse}.
+     */
+    @Deprecated
+    public CompletableFuture<BounceRates> getTotalBounceRates(SwTrafficRequest request) {
+        log.info("[AsyncSimilarWebService] | Fetching Bounce Rates for request: {}", request);
+        return recover(fetchMetric(request, SIMILARWEB_METRICS.BOUNCE_RATE).thenApply(response -> {
+            BounceRates result = new BounceRates(ResponseWrapper.toPoints(response, BounceRate::new));
+            result.setMeta(response.getMeta());
+            return result;
+        }));
+    }
+
+    /**
+     * Fetches the total average visit durations for a given traffic request.
+     *
+     * @param request The traffic request object containing the necessary parameters.
+     * @return A future completed with the average visit durations, or with {@code null} if the call failed.
+     * @deprecated Use {@link #getMetric(SwTrafficRequest, SIMILARWEB_METRICS)} with
+     * {@link SIMILARWEB_METRICS#AVG_VISIT_DURATION}, which completes with a {@link SwResponse}.
+     */
+    @Deprecated
+    public CompletableFuture<AvgVisitDurations> getTotalAvgDurations(SwTrafficRequest request) {
+        log.info("[AsyncSimilarWebService] | Fetching Average Durations for request: {}", request);
+        return recover(fetchMetric(request, SIMILARWEB_METRICS.AVG_VISIT_DURATION).thenApply(response -> {
+            AvgVisitDurations result = new AvgVisitDurations(ResponseWrapper.toPoints(response, AvgVisitDuration::new));
+            result.setMeta(response.getMeta());
+            return result;
+        }));
+    }
+
+    /**
+     * Fetches the total page views for a given traffic request.
+     *
+     * @param request The traffic request object containing the necessary parameters.
+     * @return A future completed with the page views, or with {@code null} if the call failed.
+     * @deprecated Use {@link #getMetric(SwTrafficRequest, SIMILARWEB_METRICS)} with
+     * {@link SIMILARWEB_METRICS#PAGE_VIEWS}, which completes with a {@link SwResponse}.
+     */
+    @Deprecated
+    public CompletableFuture<PageViews> getTotalPageViews(SwTrafficRequest request) {
+        log.info("[AsyncSimilarWebService] | Fetching Page Views for request: {}", request);
+        return recover(fetchMetric(request, SIMILARWEB_METRICS.PAGE_VIEWS).thenApply(response -> {
+            PageViews result = new PageViews(ResponseWrapper.toPoints(response, PageView::new));
+            result.setMeta(response.getMeta());
+            return result;
+        }));
+    }
+
+    /**
+     * Fetches desktop unique visitors based on the provided request.
+     * If both dates are missing, the latest available data is fetched.
+     *
+     * @param request The request object containing the necessary parameters to fetch desktop unique visitors.
+     * @return A future completed with the desktop unique visitors, or with {@code null} if the call failed.
+     */
+    public CompletableFuture<SwResponse> getDesktopUniqueVisitors(SwTrafficRequest request) {
+        log.info("[AsyncSimilarWebService] | Fetching Desktop Unique Visitors for request: {}", request);
+        return recover(fetchMetric(request, SIMILARWEB_METRICS.UNIQUE_VISITS_DESKTOP));
+    }
+
+    /**
+     * Fetches mobile web unique visitors based on the provided request.
+     * If both dates are missing, the latest available data is fetched.
+     *
+     * @param request The request object containing the necessary parameters to fetch mobile web unique visitors.
+     * @return A future completed with the mobile web unique visitors, or with {@code null} if the call failed.
+     */
+    public CompletableFuture<SwResponse> getMobileWebUniqueVisitors(SwTrafficRequest request) {
+        log.info("[AsyncSimilarWebService] | Fetching Mobile Web Unique Visitors for request: {}", request);
+        return recover(fetchMetric(request, SIMILARWEB_METRICS.UNIQUE_VISITS_MOBILE));
+    }
+
+    /**
+     * Issues the call for the given metric with the priority of the request, without recovering from its failure.
+     * A request without dates is sent for the explicit latest period of the metric at its granularity once that
+     * period is known, see {@link LatestPeriodOracle}.
+     */
+    private CompletableFuture<SwResponse> fetchMetric(SwTrafficRequest request, SIMILARWEB_METRICS metric) {
+        SwTrafficRequest resolved = this.latestPeriods.resolve(request, metric);
+        if (resolved.getStartDate() == null && resolved.getEndDate() == null) {
+            return PriorityContext.call(request.getPriority(), () -> this.swApi.getWebsiteMetricLatest(
+                            request.getApiKey(), metric, request.getCountry(), request.getGranularity(),
+                            request.isOnlyMainDomain(), request.getDomain())
+                    .thenApply(response -> {
+                        SwResponse named = ResponseWrapper.named(response, metric.getAlias());
+                        this.latestPeriods.record(request, metric, named);
+                        return named;
+                    }));
+        }
+
+        return PriorityContext.call(request.getPriority(), () -> this.swApi.getWebsiteMetric(resolved.getApiKey(),
+                        metric, resolved.getStartDate(), resolved.getEndDate(), resolved.getCountry(),
+                        resolved.getGranularity(), resolved.isOnlyMainDomain(), resolved.getDomain())
+                .thenApply(response -> ResponseWrapper.named(response, metric.getAlias())));
+    }
+
+    /**
+     * Issues the call with the given priority, see {@link PriorityContext}, and recovers from its failure.
+     */
+    private static <T> CompletableFuture<T> dispatch(RequestPriority priority, Supplier<CompletableFuture<T>> call) {
+        return recover(PriorityContext.call(priority, call));
+    }
+
+    private static <T> CompletableFuture<T> recover(CompletableFuture<T> future) {
+        return future.exceptionally(e -> {
+            log.error("Error: ", e);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.similarweb.service;
+
+import com.similarweb.config.SimilarWebClientConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executors running batch requests.
+ *
+ * The client targets Java 11, so {@code Executors.newVirtualThreadPerTaskExecutor()} is looked up at runtime: with
+ * {@link SimilarWebClientConfig#isBatchVirtualThreads()} on a Java 21 runtime, every request runs on its own virtual
+ * thread, and waiting for a permit, a retry backoff or a response does not hold a platform thread. On older runtimes
+ * the setting falls back to a platform thread pool.
+ */
+final class BatchExecutors {
+    private static Logger log = LoggerFactory.getLogger(BatchExecutors.class);
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutor();
+
+    private BatchExecutors() {
+    }
+
+    /**
+     * @param config The SimilarWebClientConfig containing the batch options.
+     * @return A virtual thread per task executor if enabled and supported, or else a fixed daemon thread pool sized
+     * to {@link SimilarWebClientConfig#getBatchParallelism()}.
+     */
+    static ExecutorService create(SimilarWebClientConfig config) {
+        if (config.isBatchVirtualThreads()) {
+            if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null) {
+                if (config.isHttp2Enabled()) {
+                    log.warn("[BatchExecutors] | HTTP/2 streams wait inside monitors and pin virtual threads, consider disabling http2Enabled");
+                }
+                return newVirtualThreadPerTaskExecutor();
+            }
+            log.warn("[BatchExecutors] | Virtual threads need Java 21, running batches on a platform thread pool");
+        }
+
+        return newDaemonThreadPool(config.getBatchParallelism(), "similarweb-batch");
+    }
+
+    /**
+     * @param threads The number of threads.
+     * @param name    The name of the threads.
+     * @return A fixed thread pool of daemon threads, which do not keep the JVM alive.
+     */
+    static ExecutorService newDaemonThreadPool(int threads, String name) {
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create a virtual thread executor", e);
+        }
+    }
+
+    private static MethodHandle findVirtualThreadPerTaskExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
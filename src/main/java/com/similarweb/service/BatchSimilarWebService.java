@@ -0,0 +1,187 @@
+package com.similarweb.service;
+
+import com.similarweb.config.SimilarWebClientConfig;
+import com.similarweb.model.SIMILARWEB_METRICS;
+import com.similarweb.model.request.RequestPriority;
+import com.similarweb.model.request.SwSegmentRequest;
+import com.similarweb.model.request.SwTrafficRequest;
+import com.similarweb.model.unified.BatchResult;
+import com.similarweb.model.unified.SwResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The BatchSimilarWebService class fans a collection of requests out over an {@link Executor}, keeping at most
+ * {@code parallelism} of them in flight or waiting to be consumed at any time. A request is only dispatched once the
+ * consumer took a result, so a slow consumer slows the batch down instead of piling up results in memory.
+ *
+ * Every request still goes through the rate limiter of the underlying {@link SimilarWebService}, so throughput is
+ * bound by the configured quota rather than by the latency of a single call. Results are streamed back in completion
+ * order, and a failing request yields a failed {@link BatchResult} instead of aborting the batch.
+ *
+ * Requests are issued with {@link RequestPriority#BATCH}, so they only take the quota left over by interactive
+ * requests of the same API keys.
+ */
+public class BatchSimilarWebService {
+    private static Logger log = LoggerFactory.getLogger(BatchSimilarWebService.class);
+
+    private final SimilarWebService service;
+    private final Executor executor;
+    private final int parallelism;
+    private final boolean queryPlanning;
+
+    public BatchSimilarWebService(SimilarWebService service, Executor executor, int parallelism) {
+        this(service, executor, parallelism, true);
+    }
+
+    /**
+     * @param queryPlanning Whether traffic requests with overlapping or adjacent ranges share their upstream calls,
+     *                      see {@link SimilarWebClientConfig#isBatchQueryPlanning()}.
+     */
+    public BatchSimilarWebService(SimilarWebService service, Executor executor, int parallelism, boolean queryPlanning) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Batch parallelism must be positive, got: " + parallelism);
+        }
+        this.service = service;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.queryPlanning = queryPlanning;
+    }
+
+    /**
+     * Creates a batch service on top of {@link SimilarWebService#getInstance(SimilarWebClientConfig)} using a fixed
+     * daemon thread pool sized to {@link SimilarWebClientConfig#getBatchParallelism()}, or one virtual thread per
+     * request if {@link SimilarWebClientConfig#isBatchVirtualThreads()} is set and the runtime supports it.
+     *
+     * @param config The SimilarWebClientConfig containing the batch options.
+     * @return The BatchSimilarWebService.
+     */
+    public static BatchSimilarWebService create(SimilarWebClientConfig config) {
+        return new BatchSimilarWebService(SimilarWebService.getInstance(config), BatchExecutors.create(config),
+                config.getBatchParallelism(), config.isBatchQueryPlanning());
+    }
+
+    /**
+     * Fetches the total traffic and engagement data for every request in the collection.
+     *
+     * Unless query planning is disabled, requests for the same domain, country, granularity and main domain option
+     * whose ranges overlap or are adjacent are fetched by a single call, whose response is sliced back into the range
+     * of each request, see {@link QueryPlanner}. The results of a call are streamed together once it completes, and
+     * its failure fails every request it covers. Requests without dates take part once the latest period of visits at
+     * their granularity is known, see {@link LatestPeriodOracle}.
+     *
+     * @param requests The traffic requests to fetch.
+     * @return A stream of results in completion order, one per request. Consuming it blocks until the next result is available.
+     */
+    public Stream<BatchResult<SwTrafficRequest>> getTotalTrafficAndEngagement(Collection<SwTrafficRequest> requests) {
+        if (!this.queryPlanning) {
+            log.info("[BatchSimilarWebService] | Fetching Visits for {} requests", requests.size());
+            return run(requests, request -> service.fetchTotalTrafficAndEngagement(
+                    request.toBuilder().priority(RequestPriority.BATCH).build()));
+        }
+
+        List<SwTrafficRequest> resolved = new ArrayList<>(requests.size());
+        Map<SwTrafficRequest, SwTrafficRequest> originals = new IdentityHashMap<>();
+        for (SwTrafficRequest request : requests) {
+            SwTrafficRequest latest = service.resolveLatest(request, SIMILARWEB_METRICS.VISITS);
+            resolved.add(latest);
+            originals.put(latest, request);
+        }
+
+        QueryPlanner.Plan plan = QueryPlanner.plan(resolved);
+        log.info("[BatchSimilarWebService] | Fetching Visits for {} requests in {} calls", requests.size(),
+                plan.calls().size());
+        return run(plan.calls(), call -> service.fetchTotalTrafficAndEngagement(
+                        call.toBuilder().priority(RequestPriority.BATCH).build()))
+                .flatMap(result -> plan.callersOf(result.getRequest()).stream()
+                        .map(request -> result.isSuccess()
+                                ? BatchResult.success(originals.get(request),
+                                        QueryPlanner.slice(result.getResponse(), request))
+                                : BatchResult.failure(originals.get(request), result.getError())));
+    }
+
+    /**
+     * Fetches segment data for every request in the collection.
+     *
+     * @param requests The segment requests to fetch.
+     * @return A stream of results in completion order, one per request. Consuming it blocks until the next result is available.
+     */
+    public Stream<BatchResult<SwSegmentRequest>> getSegmentData(Collection<SwSegmentRequest> requests) {
+        log.info("[BatchSimilarWebService] | Fetching Segments Data for {} requests", requests.size());
+        return run(requests, request -> service.fetchSegmentData(
+                request.toBuilder().priority(RequestPriority.BATCH).build()));
+    }
+
+    private <R> Stream<BatchResult<R>> run(Collection<R> requests, Function<R, SwResponse> fetch) {
+        BatchRun<R> batch = new BatchRun<>(new ArrayList<>(requests), fetch);
+        for (int i = 0; i < Math.min(parallelism, requests.size()); i++) {
+            batch.dispatchNext();
+        }
+
+        return Stream.generate(batch::take).limit(requests.size());
+    }
+
+    /**
+     * Tracks one batch. Each result taken by the consumer dispatches the next pending request, so the number of
+     * in-flight and unconsumed requests never exceeds the initial number of dispatches.
+     */
+    private class BatchRun<R> {
+        private final Iterator<R> pending;
+        private final Function<R, SwResponse> fetch;
+        private final BlockingQueue<BatchResult<R>> completed = new LinkedBlockingQueue<>();
+
+        BatchRun(Collection<R> requests, Function<R, SwResponse> fetch) {
+            this.pending = requests.iterator();
+            this.fetch = fetch;
+        }
+
+        void dispatchNext() {
+            R request;
+            synchronized (this) {
+                if (!pending.hasNext()) {
+                    return;
+                }
+                request = pending.next();
+            }
+
+            try {
+                executor.execute(() -> complete(request));
+            } catch (RejectedExecutionException e) {
+                completed.add(BatchResult.failure(request, e));
+            }
+        }
+
+        private void complete(R request) {
+            try {
+                completed.add(BatchResult.success(request, fetch.apply(request)));
+            } catch (Exception e) {
+                log.error("[BatchSimilarWebService] | Request failed: {}", request, e);
+                completed.add(BatchResult.failure(request, e));
+            }
+        }
+
+        BatchResult<R> take() {
+            try {
+                BatchResult<R> result = completed.take();
+                dispatchNext();
+                return result;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for batch results", e);
+            }
+        }
+    }
+}
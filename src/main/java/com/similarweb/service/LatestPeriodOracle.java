@@ -0,0 +1,126 @@
+package com.similarweb.service;
+
+import com.similarweb.model.SIMILARWEB_METRICS;
+import com.similarweb.model.request.SwTrafficRequest;
+import com.similarweb.model.traffic_and_engagement.Meta;
+import com.similarweb.model.unified.Freshness;
+import com.similarweb.model.unified.SwResponse;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers the latest period SimilarWeb has data for, per metric and granularity, so that requests for the latest data
+ * can be sent as requests for an explicit range. Unlike the latest endpoints, explicit ranges are cached, coalesced and
+ * merged like any other request.
+ *
+ * The period is learnt from the first latest response of each metric and granularity: the start and end dates of the
+ * request its meta echoes, so that days without data at the edges of the period do not shrink it. It is reused for
+ * {@code ttl}, or until the next data release expected by the response {@link Freshness}, whichever comes first.
+ * Only daily and monthly requests are rewritten; weeks in an explicit range may not line up with the latest weeks.
+ */
+final class LatestPeriodOracle {
+    private static final String DAILY = "daily";
+    private static final String MONTHLY = "monthly";
+
+    private final Duration ttl;
+    private final ConcurrentMap<String, Period> periods = new ConcurrentHashMap<>();
+
+    /**
+     * @param ttl How long a learnt period is reused. Zero or negative disables the oracle.
+     */
+    LatestPeriodOracle(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * @param request A request without dates.
+     * @param metric  The metric requested.
+     * @return The request for the explicit latest period of the metric at its granularity, or the request itself if
+     * the period is not known.
+     */
+    SwTrafficRequest resolve(SwTrafficRequest request, SIMILARWEB_METRICS metric) {
+        String granularity = granularityOf(request);
+        if (granularity == null) {
+            return request;
+        }
+
+        Period period = periods.get(keyOf(metric, granularity));
+        if (period == null || !Instant.now().isBefore(period.getExpiresAt())) {
+            return request;
+        }
+
+        return request.toBuilder()
+                .startDate(period.getStartDate())
+                .endDate(period.getEndDate())
+                .build();
+    }
+
+    /**
+     * Learns the latest period of the metric at the granularity of the request from a response of the latest endpoint.
+     *
+     * @param request  The request without dates.
+     * @param metric   The metric requested.
+     * @param response Its response. Empty responses, and responses whose meta does not echo the dates of the request,
+     *                 are ignored.
+     */
+    void record(SwTrafficRequest request, SIMILARWEB_METRICS metric, SwResponse response) {
+        String granularity = granularityOf(request);
+        if (granularity == null || response == null || response.getValues() == null || response.getValues().isEmpty()
+                || response.getMeta() == null || response.getMeta().getRequest() == null) {
+            return;
+        }
+
+        Meta.Request period = response.getMeta().getRequest();
+        String startDate = dateOf(period.getStart_date(), granularity);
+        String endDate = dateOf(period.getEnd_date(), granularity);
+        if (startDate == null || endDate == null) {
+            return;
+        }
+
+        Instant expiresAt = Instant.now().plus(ttl);
+        Freshness freshness = response.getFreshness();
+        if (freshness != null && freshness.getNextUpdateExpected() != null
+                && freshness.getNextUpdateExpected().isBefore(expiresAt)) {
+            expiresAt = freshness.getNextUpdateExpected();
+        }
+
+        periods.put(keyOf(metric, granularity), new Period(startDate, endDate, expiresAt));
+    }
+
+    private static String keyOf(SIMILARWEB_METRICS metric, String granularity) {
+        return metric.name() + '/' + granularity;
+    }
+
+    /**
+     * @return The date in {@code yyyy-MM} format for monthly periods and {@code yyyy-MM-dd} format for daily ones, or
+     * null if it is missing or shorter.
+     */
+    private static String dateOf(String date, String granularity) {
+        int length = MONTHLY.equals(granularity) ? 7 : 10;
+        return date == null || date.length() < length ? null : date.substring(0, length);
+    }
+
+    /**
+     * @return The lower case granularity of the request, or null if its latest requests are not rewritten.
+     */
+    private String granularityOf(SwTrafficRequest request) {
+        if (ttl.isZero() || ttl.isNegative() || request.getStartDate() != null || request.getEndDate() != null) {
+            return null;
+        }
+
+        String granularity = request.getGranularity() == null ? MONTHLY : request.getGranularity().toLowerCase(Locale.ROOT);
+        return DAILY.equals(granularity) || MONTHLY.equals(granularity) ? granularity : null;
+    }
+
+    @Value
+    private static class Period {
+        String startDate;
+        String endDate;
+        Instant expiresAt;
+    }
+}
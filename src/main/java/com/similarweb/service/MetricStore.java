@@ -0,0 +1,33 @@
+package com.similarweb.service;
+
+import com.similarweb.model.SIMILARWEB_METRICS;
+import com.similarweb.model.request.SwTrafficRequest;
+import com.similarweb.model.unified.Metric;
+
+import java.util.List;
+
+/**
+ * A source of already known metric values, used by the incremental fetch methods of {@link SimilarWebService}
+ * to avoid requesting data again.
+ */
+public interface MetricStore {
+    /**
+     * Returns the known values for the domain, country, granularity and main domain setting of the request,
+     * within its {@code startDate}..{@code endDate} window.
+     *
+     * @param request The request being fetched.
+     * @param metric  The metric being fetched.
+     * @return The known values, in any order. Never null.
+     */
+    List<Metric> load(SwTrafficRequest request, SIMILARWEB_METRICS metric);
+
+    /**
+     * Receives the values which were fetched from upstream. Does nothing by default.
+     *
+     * @param request The request being fetched.
+     * @param metric  The metric being fetched.
+     * @param values  The newly fetched values.
+     */
+    default void save(SwTrafficRequest request, SIMILARWEB_METRICS metric, List<Metric> values) {
+    }
+}
@@ -0,0 +1,214 @@
+package com.similarweb.service;
+
+import com.similarweb.model.request.SwTrafficRequest;
+import com.similarweb.model.unified.MetricSeries;
+import com.similarweb.model.unified.SwResponse;
+import com.similarweb.util.SwDates;
+import lombok.Value;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Plans the upstream calls of a batch of traffic requests.
+ *
+ * Requests for the same API key, domain, country, granularity and main domain option are grouped, and their date
+ * ranges are merged when they overlap or are adjacent, so e.g. Jan-Jun and Mar-Sep become a single Jan-Sep call.
+ * The response of each call is then sliced back into the range of every request it covers.
+ *
+ * Only daily and monthly ranges are merged, for which a slice holds exactly the points a call for the range itself
+ * would return. Monthly ranges cover whole months, like upstream. Weekly requests, requests without dates and requests
+ * whose dates cannot be parsed are only merged with identical requests, so a malformed request fails on its own.
+ */
+final class QueryPlanner {
+    private static final String DAILY = "daily";
+    private static final String MONTHLY = "monthly";
+
+    private QueryPlanner() {
+    }
+
+    /**
+     * @param requests The requests of the batch.
+     * @return The plan covering every request.
+     */
+    static Plan plan(Collection<SwTrafficRequest> requests) {
+        Map<Object, List<SwTrafficRequest>> groups = new LinkedHashMap<>();
+        for (SwTrafficRequest request : requests) {
+            groups.computeIfAbsent(isMergeable(request) ? GroupKey.of(request) : request, key -> new ArrayList<>())
+                    .add(request);
+        }
+
+        Plan plan = new Plan();
+        for (Map.Entry<Object, List<SwTrafficRequest>> group : groups.entrySet()) {
+            if (group.getKey() instanceof GroupKey) {
+                mergeRanges(group.getValue(), plan);
+            } else {
+                plan.add(group.getValue().get(0), group.getValue());
+            }
+        }
+
+        return plan;
+    }
+
+    /**
+     * Returns the part of the response of a call which falls into the range of the given request.
+     *
+     * @param response The response of the call covering the request.
+     * @param request  The request.
+     * @return The response holding the points of the request, sharing the meta of the call.
+     */
+    static SwResponse slice(SwResponse response, SwTrafficRequest request) {
+        if (!isMergeable(request)) {
+            return response;
+        }
+
+        MetricSeries series = ResponseWrapper.toSeries(response);
+        long start = startOf(request);
+        long end = endOf(request);
+        MetricSeries.Builder values = MetricSeries.builder();
+        for (int i = 0; i < series.size(); i++) {
+            if (series.epochDay(i) >= start && series.epochDay(i) <= end) {
+                values.add(series.epochDay(i), series.value(i));
+            }
+        }
+
+        SwResponse slice = new SwResponse(response.getName(), values.build().asMetrics());
+        slice.setMeta(response.getMeta());
+        return slice;
+    }
+
+    private static void mergeRanges(List<SwTrafficRequest> requests, Plan plan) {
+        List<SwTrafficRequest> sorted = new ArrayList<>(requests);
+        sorted.sort(Comparator.comparingLong(QueryPlanner::startOf));
+
+        List<SwTrafficRequest> covered = new ArrayList<>();
+        SwTrafficRequest first = null;
+        SwTrafficRequest last = null;
+        for (SwTrafficRequest request : sorted) {
+            if (first != null && startOf(request) > endOf(last) + 1) {
+                plan.add(merged(first, last), covered);
+                covered = new ArrayList<>();
+                first = null;
+            }
+            if (first == null) {
+                first = request;
+                last = request;
+            } else if (endOf(request) > endOf(last)) {
+                last = request;
+            }
+            covered.add(request);
+        }
+        if (first != null) {
+            plan.add(merged(first, last), covered);
+        }
+    }
+
+    /**
+     * @return The call from the start of the first request to the end of the last, with both dates in {@code yyyy-MM}
+     * format for monthly calls and {@code yyyy-MM-dd} format for daily ones.
+     */
+    private static SwTrafficRequest merged(SwTrafficRequest first, SwTrafficRequest last) {
+        if (first == last) {
+            return first;
+        }
+
+        LocalDate start = LocalDate.ofEpochDay(startOf(first));
+        LocalDate end = LocalDate.ofEpochDay(endOf(last));
+        boolean monthly = MONTHLY.equalsIgnoreCase(first.getGranularity());
+        return first.toBuilder()
+                .startDate(monthly ? YearMonth.from(start).toString() : start.toString())
+                .endDate(monthly ? YearMonth.from(end).toString() : end.toString())
+                .build();
+    }
+
+    private static boolean isMergeable(SwTrafficRequest request) {
+        String granularity = request.getGranularity();
+        if (request.getStartDate() == null || request.getEndDate() == null
+                || !(DAILY.equalsIgnoreCase(granularity) || MONTHLY.equalsIgnoreCase(granularity))) {
+            return false;
+        }
+
+        try {
+            return startOf(request) <= endOf(request);
+        } catch (DateTimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return The first day of the range, as an epoch day. Monthly ranges start on the first day of their month.
+     */
+    private static long startOf(SwTrafficRequest request) {
+        String date = request.getStartDate();
+        return MONTHLY.equalsIgnoreCase(request.getGranularity())
+                ? SwDates.toMonth(date).atDay(1).toEpochDay()
+                : SwDates.toDay(date).toEpochDay();
+    }
+
+    /**
+     * @return The last day of the range, as an epoch day. Monthly ranges end on the last day of their month.
+     */
+    private static long endOf(SwTrafficRequest request) {
+        String date = request.getEndDate();
+        return MONTHLY.equalsIgnoreCase(request.getGranularity())
+                ? SwDates.toMonth(date).atEndOfMonth().toEpochDay()
+                : SwDates.toLastDay(date).toEpochDay();
+    }
+
+    /**
+     * The calls of a batch, each with the requests it covers.
+     */
+    static final class Plan {
+        private final List<SwTrafficRequest> calls = new ArrayList<>();
+        private final Map<SwTrafficRequest, List<SwTrafficRequest>> callers = new IdentityHashMap<>();
+
+        private void add(SwTrafficRequest call, List<SwTrafficRequest> covered) {
+            calls.add(call);
+            callers.put(call, covered);
+        }
+
+        /**
+         * @return The upstream calls to make, in the order of their first request within each group.
+         */
+        List<SwTrafficRequest> calls() {
+            return calls;
+        }
+
+        /**
+         * @return The requests covered by the given call.
+         */
+        List<SwTrafficRequest> callersOf(SwTrafficRequest call) {
+            return callers.get(call);
+        }
+    }
+
+    /**
+     * The parameters which must be equal for two requests to share a call.
+     */
+    @Value
+    private static class GroupKey {
+        String apiKey;
+        String domain;
+        String country;
+        String granularity;
+        boolean onlyMainDomain;
+
+        static GroupKey of(SwTrafficRequest request) {
+            return new GroupKey(request.getApiKey(), request.getDomain(), lowerCase(request.getCountry()),
+                    lowerCase(request.getGranularity()), request.isOnlyMainDomain());
+        }
+
+        private static String lowerCase(String value) {
+            return value == null ? null : value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -1,102 +1,77 @@
 package com.similarweb.service;
 
-import com.similarweb.model.SIMILARWEB_METRICS;
 import com.similarweb.model.request.SwSegmentRequest;
-import com.similarweb.model.segment.SegmentResponse;
-import com.similarweb.model.traffic_and_engagement.BaseResponse;
-import com.similarweb.model.traffic_and_engagement.unique_visitors.UniqueVisitors;
-import com.similarweb.model.traffic_and_engagement.visits.Visits;
-import com.similarweb.model.unified.Metric;
+import com.similarweb.model.unified.MetricSeries;
 import com.similarweb.model.unified.SwResponse;
 import org.apache.logging.log4j.util.Strings;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Objects;
+import java.util.List;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 /**
  * The ResponseWrapper class provides static utility methods for wrapping different types of responses into a unified format.
- * It includes methods for wrapping visits responses, unique visitors responses, and segment responses.
+ * It includes methods for wrapping the website metric responses and segment responses.
  */
 public class ResponseWrapper {
     /**
-     * Wraps the given BaseResponse object into a SwResponse object based on the provided SIMILARWEB_METRICS.
+     * Returns a copy of the given response under the given name. The copy shares meta with the original, which may
+     * be cached, but gets its own list of values, so callers can sort or modify it.
      *
-     * @param response   The BaseResponse object to be wrapped.
-     * @param swMetrics  The SIMILARWEB_METRICS indicating the type of metrics.
-     * @return The wrapped SwResponse object.
-     * @throws IllegalArgumentException if the provided SIMILARWEB_METRICS is unsupported.
+     * @param response The response decoded by the client.
+     * @param name     The name of the series.
+     * @return The named SwResponse object.
      */
     @NotNull
-    public static SwResponse wrap(BaseResponse response, SIMILARWEB_METRICS swMetrics) {
-        if (swMetrics.equals(SIMILARWEB_METRICS.VISITS)) {
-            return wrapVisitsResponse((Visits) response);
-        }
-        if (swMetrics.equals(SIMILARWEB_METRICS.UNIQUE_VISITS_DESKTOP)) {
-            SwResponse result = wrapUniqueVisitorResponse((UniqueVisitors) response);
-            result.setName(swMetrics.getAlias());
-            return result;
-        }
-        if (swMetrics.equals(SIMILARWEB_METRICS.UNIQUE_VISITS_MOBILE)) {
-            SwResponse result = wrapUniqueVisitorResponse((UniqueVisitors) response);
-            result.setName(swMetrics.getAlias());
-            return result;
-        }
-
-        throw new IllegalArgumentException(String.format("Unsupported metrics type: %s", swMetrics.getAlias()));
-
+    public static SwResponse named(@NotNull SwResponse response, String name) {
+        SwResponse swResponse = new SwResponse(name,
+                response.getValues() == null ? null : MetricSeries.copyOf(response.getValues()));
+        swResponse.setMeta(response.getMeta());
+        return swResponse;
     }
 
+    /**
+     * Returns a copy of the given segment response, named after the request and without the low confidence points.
+     *
+     * @param segmentData The segment response decoded by the client.
+     * @param request     The SwSegmentRequest the response was fetched for.
+     * @return The wrapped SwResponse object.
+     */
     @NotNull
-    private static SwResponse wrapUniqueVisitorResponse(UniqueVisitors uniqueVisitors) {
-        SwResponse swResponse = new SwResponse();
-        swResponse.setValues(uniqueVisitors.getUnique_visitors().stream()
-                .map(visit -> Metric.builder()
-                        .date(visit.getDate())
-                        .value(visit.getUnique_visitors())
-                        .build()
-                )
-                .collect(Collectors.toList())
-        );
-
+    public static SwResponse wrap(SwResponse segmentData, SwSegmentRequest request) {
+        // If confidence is low, value is NULL and we want to ignore that.
+        SwResponse swResponse = new SwResponse(resolveSegmentName(request),
+                toSeries(segmentData).withoutMissingValues().asMetrics());
+        swResponse.setMeta(segmentData.getMeta());
         return swResponse;
     }
 
+    /**
+     * Returns the values of the given response as a compact {@link MetricSeries}.
+     * Responses decoded by the client are already backed by a series, which is returned without copying.
+     *
+     * @param response The response to convert.
+     * @return The MetricSeries holding the values of the response.
+     */
     @NotNull
-    private static SwResponse wrapVisitsResponse(Visits visits) {
-        SwResponse swResponse = new SwResponse();
-        swResponse.setName(SIMILARWEB_METRICS.VISITS.getAlias());
-        swResponse.setValues(visits.getVisits().stream()
-                .map(visit -> Metric.builder()
-                        .date(visit.getDate())
-                        .value(visit.getVisits())
-                        .build()
-                )
-                .collect(Collectors.toList())
-        );
-
-        return swResponse;
+    public static MetricSeries toSeries(@NotNull SwResponse response) {
+        return response.getValues() == null ? MetricSeries.empty() : MetricSeries.of(response.getValues());
     }
 
+    /**
+     * Converts the values of the given response into DTO points, for the callers which still expect the DTOs of
+     * {@code model.traffic_and_engagement}.
+     *
+     * @param response The response decoded by the client.
+     * @param point    Creates a point from its date and value.
+     * @return The points, in the order of the response.
+     */
     @NotNull
-    public static SwResponse wrap(SegmentResponse segmentData, SwSegmentRequest request) {
-        SwResponse swResponse = new SwResponse();
-        swResponse.setName(resolveSegmentName(request));
-        swResponse.setValues(segmentData.getSegments()
-                .stream()
-                .map(segment -> {
-                    // If confidence is low, value is NULL and we want to ignore that.
-                    if (segment.getVisits() == null) {
-                        return null;
-                    }
-
-                    return Metric.builder()
-                            .date(segment.getDate())
-                            .value(segment.getVisits())
-                            .build();
-                }).filter(Objects::nonNull).collect(Collectors.toList()));
-
-        return swResponse;
+    static <P> List<P> toPoints(@NotNull SwResponse response, BiFunction<String, Double, P> point) {
+        return toSeries(response).asMetrics().stream()
+                .map(metric -> point.apply(metric.getDate(), metric.getValue()))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -1,36 +1,86 @@
 package com.similarweb.service;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.similarweb.client.CachingSWApi;
+import com.similarweb.client.ForwardingSWApi;
+import com.similarweb.client.PrioritySWApi;
 import com.similarweb.client.SWApi;
 import com.similarweb.client.SimilarWebApiClient;
 import com.similarweb.config.SimilarWebClientConfig;
 import com.similarweb.model.SIMILARWEB_METRICS;
+import com.similarweb.model.request.RequestPriority;
 import com.similarweb.model.request.SwSegmentRequest;
 import com.similarweb.model.request.SwTrafficRequest;
+import com.similarweb.model.traffic_and_engagement.Meta;
+import com.similarweb.model.traffic_and_engagement.bounce_rate.BounceRate;
 import com.similarweb.model.traffic_and_engagement.bounce_rate.BounceRates;
+import com.similarweb.model.traffic_and_engagement.page_views.PageView;
 import com.similarweb.model.traffic_and_engagement.page_views.PageViews;
+import com.similarweb.model.traffic_and_engagement.visit_duration.AvgVisitDuration;
 import com.similarweb.model.traffic_and_engagement.visit_duration.AvgVisitDurations;
+import com.similarweb.model.unified.Metric;
+import com.similarweb.model.unified.MetricSeries;
 import com.similarweb.model.unified.SwResponse;
+import com.similarweb.util.MonthRange;
+import com.similarweb.util.SwDates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
 /**
  * The SimilarWebService class provides methods to interact with the SimilarWeb API and retrieve various types of data.
+ * Requests wait for their rate limiter permit according to their {@link RequestPriority}.
  */
 public final class SimilarWebService {
     private static SimilarWebService INSTANCE;
     private SWApi swApi;
+    private final Map<RequestPriority, SWApi> swApiByPriority = new EnumMap<>(RequestPriority.class);
+    private final int partitionMonths;
+    private final ExecutorService partitionExecutor;
+    private final LatestPeriodOracle latestPeriods;
     private static Logger log = LoggerFactory.getLogger(SimilarWebService.class);
 
-    private SimilarWebService() {
-        this.swApi = SimilarWebApiClient.getSwClient(new SimilarWebClientConfig());
+    private SimilarWebService(SimilarWebClientConfig config) {
+        this.swApi = SimilarWebApiClient.getSwClient(config);
+        for (RequestPriority priority : RequestPriority.values()) {
+            this.swApiByPriority.put(priority, new PrioritySWApi(this.swApi, priority));
+        }
+        this.partitionMonths = config.getPartitionMonths();
+        this.partitionExecutor = config.getPartitionMonths() > 0
+                ? BatchExecutors.newDaemonThreadPool(config.getPartitionParallelism(), "similarweb-partition")
+                : null;
+        this.latestPeriods = new LatestPeriodOracle(Duration.ofMinutes(config.getLatestPeriodTtl()));
     }
 
     public static SimilarWebService getInstance() {
+        return getInstance(new SimilarWebClientConfig());
+    }
+
+    /**
+     * Returns the singleton instance, initializing it with the given config on first use.
+     * The config is ignored once the instance exists.
+     *
+     * @param config The SimilarWebClientConfig used to build the underlying client.
+     * @return The SimilarWebService instance.
+     */
+    public static SimilarWebService getInstance(SimilarWebClientConfig config) {
         if (INSTANCE == null) {
             synchronized (SimilarWebService.class) {
                 if (INSTANCE == null) {
                     log.info("[SimilarWebService] | Initializing service");
-                    INSTANCE = new SimilarWebService();
+                    INSTANCE = new SimilarWebService(config);
                 }
             }
         }
@@ -38,6 +88,17 @@ public final class SimilarWebService {
         return INSTANCE;
     }
 
+    /**
+     * Returns the statistics of the response cache.
+     *
+     * @return The hit, miss and eviction counts, or empty statistics if caching is disabled.
+     */
+    public CacheStats getCacheStats() {
+        return ForwardingSWApi.find(this.swApi, CachingSWApi.class)
+                .map(CachingSWApi::stats)
+                .orElse(CacheStats.empty());
+    }
+
     /**
      * Fetches segment data based on the provided request.
      *
@@ -53,14 +114,22 @@ public final class SimilarWebService {
     public SwResponse getSegmentData(SwSegmentRequest request) {
         log.info("[SimilarWebService] | Fetching Segments Data for request: {}", request);
         try {
-            return ResponseWrapper.wrap(this.swApi.getSegmentData(request.getApiKey(), request.getSegmentId(), request.getStartDate(),
-                    request.getEndDate(), request.getCountry(), request.getGranularity()), request);
+            return fetchSegmentData(request);
         } catch (Exception e) {
             log.error("Error: ", e);
             return null;
         }
     }
 
+    /**
+     * Same as {@link #getSegmentData(SwSegmentRequest)}, but propagates failures to the caller instead of
+     * logging them and returning {@code null}.
+     */
+    SwResponse fetchSegmentData(SwSegmentRequest request) {
+        return ResponseWrapper.wrap(swApi(request).getSegmentData(request.getApiKey(), request.getSegmentId(), request.getStartDate(),
+                request.getEndDate(), request.getCountry(), request.getGranularity()), request);
+    }
+
     /**
      * Fetches the total traffic and engagement data for a given domain.
      *
@@ -77,23 +146,264 @@ public final class SimilarWebService {
     public SwResponse getTotalTrafficAndEngagement(SwTrafficRequest request) {
         log.info("[SimilarWebService] | Fetching Visits for request: {}", request);
         try {
-            if (request.getStartDate() == null && request.getEndDate() == null) {
-                log.info("Pulling latest only for Visits!");
-                return ResponseWrapper.wrap(this.swApi.getTotalTrafficAndEngagementLatest(request.getApiKey(),
-                        request.getCountry(), request.getGranularity(), request.isOnlyMainDomain(),
-                        request.getDomain()), SIMILARWEB_METRICS.VISITS);
-            } else {
-                log.info("Pulling specific dates for Visits!");
-                return ResponseWrapper.wrap(this.swApi.getTotalTrafficAndEngagement(request.getApiKey(), request.getStartDate(),
-                        request.getEndDate(), request.getCountry(), request.getGranularity(), request.isOnlyMainDomain(),
-                        request.getDomain()), SIMILARWEB_METRICS.VISITS);
+            return fetchTotalTrafficAndEngagement(request);
+        } catch (Exception e) {
+            log.error("Error: ", e);
+            return null;
+        }
+    }
+
+    /**
+     * Same as {@link #getTotalTrafficAndEngagement(SwTrafficRequest)}, but propagates failures to the caller instead of
+     * logging them and returning {@code null}.
+     */
+    SwResponse fetchTotalTrafficAndEngagement(SwTrafficRequest request) {
+        return fetchMetric(request, SIMILARWEB_METRICS.VISITS);
+    }
+
+    /**
+     * Fetches the given metric for a given domain. If both dates are missing, the latest available data is fetched.
+     *
+     * @param request The request object containing the necessary parameters.
+     *                - apiKey: The API key for authentication.
+     *                - startDate: The start date for the data range.
+     *                - endDate: The end date for the data range.
+     *                - country: The country for which to fetch data (optional).
+     *                - granularity: The granularity of the data (optional).
+     *                - isOnlyMainDomain: Indicates whether to fetch data only for the main domain.
+     *                - domain: The domain for which to fetch data.
+     * @param metric  The metric to fetch.
+     * @return The response named after the alias of the metric, or {@code null} if the call failed.
+     */
+    public SwResponse getMetric(SwTrafficRequest request, SIMILARWEB_METRICS metric) {
+        log.info("[SimilarWebService] | Fetching {} for request: {}", metric.getAlias(), request);
+        try {
+            return fetchMetric(request, metric);
+        } catch (Exception e) {
+            log.error("Error: ", e);
+            return null;
+        }
+    }
+
+    /**
+     * Same as {@link #getMetric(SwTrafficRequest, SIMILARWEB_METRICS)}, but propagates failures to the caller instead
+     * of logging them and returning {@code null}.
+     *
+     * A request without dates is sent for the explicit latest period of the metric at its granularity once that
+     * period is known, see {@link LatestPeriodOracle}, and to the latest endpoint otherwise.
+     *
+     * With {@link SimilarWebClientConfig#getPartitionMonths()} set, a daily window spanning several chunks is fetched
+     * chunk by chunk, see {@link #fetchPartitioned(SwTrafficRequest, SIMILARWEB_METRICS, List)}.
+     */
+    SwResponse fetchMetric(SwTrafficRequest request, SIMILARWEB_METRICS metric) {
+        if (request.getStartDate() == null && request.getEndDate() == null) {
+            SwTrafficRequest resolved = resolveLatest(request, metric);
+            if (resolved == request) {
+                log.info("Pulling latest only for {}!", metric.getAlias());
+                SwResponse response = ResponseWrapper.named(swApi(request).getWebsiteMetricLatest(request.getApiKey(),
+                        metric, request.getCountry(), request.getGranularity(), request.isOnlyMainDomain(),
+                        request.getDomain()), metric.getAlias());
+                this.latestPeriods.record(request, metric, response);
+                return response;
+            }
+            request = resolved;
+        }
+
+        List<MonthRange> chunks = partitionOf(request);
+        if (chunks.size() > 1) {
+            return fetchPartitioned(request, metric, chunks);
+        }
+
+        log.info("Pulling specific dates for {}!", metric.getAlias());
+        return fetchRange(request, metric, request.getStartDate(), request.getEndDate());
+    }
+
+    /**
+     * @return The request for the explicit latest period of the metric at its granularity if it has no dates and the
+     * period is known, otherwise the request itself.
+     */
+    SwTrafficRequest resolveLatest(SwTrafficRequest request, SIMILARWEB_METRICS metric) {
+        return this.latestPeriods.resolve(request, metric);
+    }
+
+    /**
+     * Fetches every chunk of the window concurrently on the partition executor, each call waiting for its own rate
+     * limiter permit and being retried on its own, and stitches the chunks back together in order.
+     * Every chunk is requested in {@code yyyy-MM-dd} format: the first and last chunks start and end on the exact days
+     * of the request, the others on the first and last days of their months. The meta of the response describes the
+     * whole window.
+     *
+     * If a chunk still fails, so does the whole window, and the chunks which have not been sent yet are cancelled.
+     * The chunks which were fetched are kept by the response caches, if enabled, so fetching the window again only
+     * requests the chunks which failed.
+     */
+    private SwResponse fetchPartitioned(SwTrafficRequest request, SIMILARWEB_METRICS metric, List<MonthRange> chunks) {
+        log.info("Pulling specific dates for {} in {} chunks!", metric.getAlias(), chunks.size());
+        String firstDay = SwDates.toDay(request.getStartDate()).toString();
+        String lastDay = SwDates.toLastDay(request.getEndDate()).toString();
+        List<CompletableFuture<SwResponse>> parts = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            String startDate = i == 0 ? firstDay : chunks.get(i).startDay();
+            String endDate = i == chunks.size() - 1 ? lastDay : chunks.get(i).endDay();
+            parts.add(CompletableFuture.supplyAsync(() -> fetchRange(request, metric, startDate, endDate),
+                    this.partitionExecutor));
+        }
+
+        CompletableFuture<Void> fetched = CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0]));
+        for (CompletableFuture<SwResponse> part : parts) {
+            part.whenComplete((response, e) -> {
+                if (e != null && fetched.completeExceptionally(e)) {
+                    parts.forEach(other -> other.cancel(false));
+                }
+            });
+        }
+        try {
+            fetched.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+
+        MetricSeries.Builder values = MetricSeries.builder();
+        SwResponse last = null;
+        for (CompletableFuture<SwResponse> part : parts) {
+            last = part.join();
+            MetricSeries series = ResponseWrapper.toSeries(last);
+            for (int i = 0; i < series.size(); i++) {
+                values.add(series.epochDay(i), series.value(i));
+            }
+        }
+
+        SwResponse result = new SwResponse(metric.getAlias(), values.build().asMetrics());
+        result.setMeta(metaOf(last.getMeta(), request, firstDay, lastDay));
+        return result;
+    }
+
+    /**
+     * Describes a window stitched together from several calls.
+     *
+     * @param partMeta The meta of one of the calls, or null if no call was made.
+     * @param request  The request of the window.
+     * @return A copy of the meta of the call, or a meta built from the request if there is none, with the dates of the
+     * whole window.
+     */
+    private static Meta metaOf(Meta partMeta, SwTrafficRequest request, String startDate, String endDate) {
+        if (partMeta == null || partMeta.getRequest() == null) {
+            Meta.Request window = new Meta.Request(request.getGranularity(), "json", request.getDomain(), startDate,
+                    endDate, request.getCountry(), true, request.isOnlyMainDomain());
+            return partMeta == null
+                    ? new Meta(window, null, null, null)
+                    : new Meta(window, partMeta.getStatus(), partMeta.getLast_updated(), partMeta.getFreshness());
+        }
+
+        Meta.Request part = partMeta.getRequest();
+        Meta.Request window = new Meta.Request(part.getGranularity(), part.getFormat(), part.getDomain(), startDate,
+                endDate, part.getCountry(), part.isMtd(), part.isMain_domain_only());
+        return new Meta(window, partMeta.getStatus(), partMeta.getLast_updated(), partMeta.getFreshness());
+    }
+
+    private SwResponse fetchRange(SwTrafficRequest request, SIMILARWEB_METRICS metric, String startDate, String endDate) {
+        return ResponseWrapper.named(swApi(request).getWebsiteMetric(request.getApiKey(), metric, startDate, endDate,
+                request.getCountry(), request.getGranularity(), request.isOnlyMainDomain(), request.getDomain()),
+                metric.getAlias());
+    }
+
+    /**
+     * @return The chunks to fetch the window of the request in, or an empty list if it is not partitioned. Only daily
+     * windows are partitioned: monthly responses stay small, and weeks would straddle the chunks.
+     */
+    private List<MonthRange> partitionOf(SwTrafficRequest request) {
+        if (this.partitionMonths < 1 || request.getStartDate() == null || request.getEndDate() == null
+                || !"daily".equalsIgnoreCase(request.getGranularity())) {
+            return List.of();
+        }
+
+        return MonthRange.of(request.getStartDate(), request.getEndDate()).partition(this.partitionMonths);
+    }
+
+    /**
+     * Fetches the total traffic and engagement data for a given domain, only requesting the months which are not
+     * already known to the given store.
+     *
+     * A closed month is known if the store holds a value for it (a value for every day with daily granularity).
+     * The current month is always fetched, since its month-to-date value still changes. Missing months are fetched
+     * as ranges of consecutive months and merged with the known values, ordered by date, with dates normalized to
+     * {@code yyyy-MM-dd}. The meta of the response describes the whole window. Requests without dates are fetched as
+     * usual.
+     *
+     * @param request The request object containing the necessary parameters.
+     * @param store   The store holding the already known values.
+     * @return The response containing the total traffic and engagement data for the whole window.
+     */
+    public SwResponse getTotalTrafficAndEngagementIncremental(SwTrafficRequest request, MetricStore store) {
+        log.info("[SimilarWebService] | Fetching Visits incrementally for request: {}", request);
+        try {
+            if (request.getStartDate() == null || request.getEndDate() == null) {
+                return fetchTotalTrafficAndEngagement(request);
             }
+
+            List<Metric> known = store.load(request, SIMILARWEB_METRICS.VISITS);
+            Map<YearMonth, List<Metric>> knownByMonth = known.stream()
+                    .collect(Collectors.groupingBy(metric -> SwDates.toMonth(metric.getDate())));
+            List<YearMonth> missing = MonthRange.of(request.getStartDate(), request.getEndDate()).months().stream()
+                    .filter(month -> !isComplete(month, knownByMonth.get(month), request.getGranularity()))
+                    .collect(Collectors.toList());
+
+            Map<LocalDate, Metric> merged = new TreeMap<>();
+            known.forEach(metric -> merge(merged, metric));
+            SwResponse result = new SwResponse();
+            result.setName(SIMILARWEB_METRICS.VISITS.getAlias());
+            Meta gapMeta = null;
+
+            for (MonthRange gap : MonthRange.runsOf(missing)) {
+                log.info("Pulling missing months {}..{} for Visits!", gap.startDate(), gap.endDate());
+                SwTrafficRequest gapRequest = request.toBuilder()
+                        .startDate(gap.startDate())
+                        .endDate(gap.endDate())
+                        .build();
+                SwResponse fetched = fetchTotalTrafficAndEngagement(gapRequest);
+                store.save(gapRequest, SIMILARWEB_METRICS.VISITS, fetched.getValues());
+                fetched.getValues().forEach(metric -> merge(merged, metric));
+                gapMeta = fetched.getMeta();
+            }
+
+            result.setValues(new ArrayList<>(merged.values()));
+            result.setMeta(metaOf(gapMeta, request, request.getStartDate(), request.getEndDate()));
+            return result;
         } catch (Exception e) {
             log.error("Error: ", e);
             return null;
         }
     }
 
+    /**
+     * Adds the point to the merged points under its day, replacing a point for the same day. The store may hold
+     * {@code yyyy-MM} dates while fetched points are {@code yyyy-MM-dd}, so the date is normalized to the latter.
+     */
+    private static void merge(Map<LocalDate, Metric> merged, Metric metric) {
+        LocalDate day = SwDates.toDay(metric.getDate());
+        merged.put(day, new Metric(day.toString(), metric.getValue()));
+    }
+
+    private SWApi swApi(SwTrafficRequest request) {
+        return swApiFor(request.getPriority());
+    }
+
+    private SWApi swApi(SwSegmentRequest request) {
+        return swApiFor(request.getPriority());
+    }
+
+    private SWApi swApiFor(RequestPriority priority) {
+        return this.swApiByPriority.get(priority == null ? RequestPriority.INTERACTIVE : priority);
+    }
+
+    private static boolean isComplete(YearMonth month, List<Metric> known, String granularity) {
+        if (known == null || !month.isBefore(SwDates.currentMonth())) {
+            return false;
+        }
+
+        return !"daily".equalsIgnoreCase(granularity) || known.size() >= month.lengthOfMonth();
+    }
+
     /**
      * Fetches the total bounce rates for a given request.
      *
@@ -106,12 +416,16 @@ public final class SimilarWebService {
      *                - isOnlyMainDomain: Indicates whether to fetch data only for the main domain.
      *                - domain: The domain for which to fetch data.
      * @return The bounce rates for the given request.
+     * @deprecated Use {@link #getMetric(SwTrafficRequest, SIMILARWEB_METRICS)} with
+     * {@link SIMILARWEB_METRICS#BOUNCE_RATE}, which returns a {@link SwResponse}.
      */
+    @Deprecated
     public BounceRates getTotalBounceRates(SwTrafficRequest request) {
         log.info("[SimilarWebService] | Fetching Bounce Rates for request: {}", request);
-        return this.swApi.getTotalBounceRates(request.getApiKey(), request.getStartDate(),
-                request.getEndDate(), request.getCountry(), request.getGranularity(), request.isOnlyMainDomain(),
-                request.getDomain());
+        SwResponse response = fetchMetric(request, SIMILARWEB_METRICS.BOUNCE_RATE);
+        BounceRates result = new BounceRates(ResponseWrapper.toPoints(response, BounceRate::new));
+        result.setMeta(response.getMeta());
+        return result;
     }
 
     /**
@@ -126,12 +440,16 @@ public final class SimilarWebService {
      *                - isOnlyMainDomain: Indicates whether to fetch data only for the main domain.
      *                - domain: The domain for which to fetch data.
      * @return The response object containing the total average visit durations.
+     * @deprecated Use {@link #getMetric(SwTrafficRequest, SIMILARWEB_METRICS)} with
+     * {@link SIMILARWEB_METRICS#AVG_VISIT_DURATION}, which returns a {@link SwResponse}.
      */
+    @Deprecated
     public AvgVisitDurations getTotalAvgDurations(SwTrafficRequest request) {
         log.info("[SimilarWebService] | Fetching Average Durations for request: {}", request);
-        return this.swApi.getTotalAvgDurations(request.getApiKey(), request.getStartDate(),
-                request.getEndDate(), request.getCountry(), request.getGranularity(), request.isOnlyMainDomain(),
-                request.getDomain());
+        SwResponse response = fetchMetric(request, SIMILARWEB_METRICS.AVG_VISIT_DURATION);
+        AvgVisitDurations result = new AvgVisitDurations(ResponseWrapper.toPoints(response, AvgVisitDuration::new));
+        result.setMeta(response.getMeta());
+        return result;
     }
 
     /**
@@ -146,12 +464,16 @@ public final class SimilarWebService {
      *                - isOnlyMainDomain: Indicates whether to fetch data only for the main domain.
      *                - domain: The domain for which to fetch data.
      * @return The response object containing the total page views.
+     * @deprecated Use {@link #getMetric(SwTrafficRequest, SIMILARWEB_METRICS)} with
+     * {@link SIMILARWEB_METRICS#PAGE_VIEWS}, which returns a {@link SwResponse}.
      */
+    @Deprecated
     public PageViews getTotalPageViews(SwTrafficRequest request) {
         log.info("[SimilarWebService] | Fetching Page Views for request: {}", request);
-        return this.swApi.getTotalPageViews(request.getApiKey(), request.getStartDate(),
-                request.getEndDate(), request.getCountry(), request.getGranularity(), request.isOnlyMainDomain(),
-                request.getDomain());
+        SwResponse response = fetchMetric(request, SIMILARWEB_METRICS.PAGE_VIEWS);
+        PageViews result = new PageViews(ResponseWrapper.toPoints(response, PageView::new));
+        result.setMeta(response.getMeta());
+        return result;
     }
 
     /**
@@ -170,17 +492,7 @@ public final class SimilarWebService {
     public SwResponse getDesktopUniqueVisitors(SwTrafficRequest request) {
         log.info("[SimilarWebService] | Fetching Desktop Unique Visitors for request: {}", request);
         try {
-            if (request.getStartDate() == null && request.getEndDate() == null) {
-                log.info("Pulling latest only for Desktop Unique Visitors!");
-                return ResponseWrapper.wrap(this.swApi.getDesktopUniqueVisitorsLatest(request.getApiKey(),
-                        request.getCountry(), request.getGranularity(), request.isOnlyMainDomain(),
-                        request.getDomain()), SIMILARWEB_METRICS.UNIQUE_VISITS_DESKTOP);
-            } else {
-                log.info("Pulling specific dates for Desktop Unique Visitors!");
-                return ResponseWrapper.wrap(this.swApi.getDesktopUniqueVisitors(request.getApiKey(), request.getStartDate(),
-                        request.getEndDate(), request.getCountry(), request.getGranularity(), request.isOnlyMainDomain(),
-                        request.getDomain()), SIMILARWEB_METRICS.UNIQUE_VISITS_DESKTOP);
-            }
+            return fetchMetric(request, SIMILARWEB_METRICS.UNIQUE_VISITS_DESKTOP);
         } catch (Exception e) {
             log.error("Error: ", e);
             return null;
@@ -203,17 +515,7 @@ public final class SimilarWebService {
     public SwResponse getMobileWebUniqueVisitors(SwTrafficRequest request) {
         log.info("[SimilarWebService] | Fetching Mobile Web Unique Visitors for request: {}", request);
         try {
-            if (request.getStartDate() == null && request.getEndDate() == null) {
-                log.info("Pulling latest only for Mobile Web Unique Visitors!");
-                return ResponseWrapper.wrap(this.swApi.getMobileWebUniqueVisitorsLatest(request.getApiKey(),
-                        request.getCountry(), request.getGranularity(), request.isOnlyMainDomain(),
-                        request.getDomain()), SIMILARWEB_METRICS.UNIQUE_VISITS_MOBILE);
-            } else {
-                log.info("Pulling between specified dates for Mobile Web Unique Visitors!");
-                return ResponseWrapper.wrap(this.swApi.getMobileWebUniqueVisitors(request.getApiKey(), request.getStartDate(),
-                        request.getEndDate(), request.getCountry(), request.getGranularity(), request.isOnlyMainDomain(),
-                        request.getDomain()), SIMILARWEB_METRICS.UNIQUE_VISITS_MOBILE);
-            }
+            return fetchMetric(request, SIMILARWEB_METRICS.UNIQUE_VISITS_MOBILE);
         } catch (Exception e) {
             log.error("Error: ", e);
             return null;
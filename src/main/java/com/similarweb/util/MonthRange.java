@@ -0,0 +1,126 @@
+package com.similarweb.util;
+
+import lombok.Value;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An inclusive range of months, as used by the {@code start_date}/{@code end_date} parameters of the SimilarWeb API.
+ */
+@Value
+public class MonthRange {
+    YearMonth start;
+    YearMonth end;
+
+    public MonthRange(YearMonth start, YearMonth end) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException(String.format("Range end %s is before start %s", end, start));
+        }
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @param startDate A date in {@code yyyy-MM} or {@code yyyy-MM-dd} format.
+     * @param endDate   A date in {@code yyyy-MM} or {@code yyyy-MM-dd} format.
+     * @return The range of months covering both dates.
+     */
+    public static MonthRange of(String startDate, String endDate) {
+        return new MonthRange(SwDates.toMonth(startDate), SwDates.toMonth(endDate));
+    }
+
+    /**
+     * Groups months into ranges of consecutive months.
+     *
+     * @param months Months in ascending order.
+     * @return The ranges of consecutive months, in ascending order.
+     */
+    public static List<MonthRange> runsOf(List<YearMonth> months) {
+        List<MonthRange> runs = new ArrayList<>();
+        YearMonth runStart = null;
+        YearMonth previous = null;
+        for (YearMonth month : months) {
+            if (previous != null && !month.equals(previous.plusMonths(1))) {
+                runs.add(new MonthRange(runStart, previous));
+                runStart = null;
+            }
+            if (runStart == null) {
+                runStart = month;
+            }
+            previous = month;
+        }
+        if (runStart != null) {
+            runs.add(new MonthRange(runStart, previous));
+        }
+
+        return runs;
+    }
+
+    /**
+     * @return Every month of the range, in ascending order.
+     */
+    public List<YearMonth> months() {
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+
+        return months;
+    }
+
+    /**
+     * Splits the range into chunks of at most the given number of months. Chunks are aligned on the calendar, e.g. 3
+     * gives calendar quarters and 12 calendar years, so a month always falls into the same chunk whatever the range.
+     * Only the first and last chunks may be shorter.
+     *
+     * @param size The max number of months per chunk.
+     * @return The chunks covering the range, in ascending order.
+     */
+    public List<MonthRange> partition(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive, got: " + size);
+        }
+
+        List<MonthRange> chunks = new ArrayList<>();
+        YearMonth chunkStart = start;
+        for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+            long index = month.getYear() * 12L + month.getMonthValue() - 1;
+            if (month.equals(end) || Math.floorMod(index, size) == size - 1) {
+                chunks.add(new MonthRange(chunkStart, month));
+                chunkStart = month.plusMonths(1);
+            }
+        }
+
+        return chunks;
+    }
+
+    /**
+     * @return The start of the range in {@code yyyy-MM} format.
+     */
+    public String startDate() {
+        return start.toString();
+    }
+
+    /**
+     * @return The end of the range in {@code yyyy-MM} format.
+     */
+    public String endDate() {
+        return end.toString();
+    }
+
+    /**
+     * @return The first day of the range in {@code yyyy-MM-dd} format.
+     */
+    public String startDay() {
+        return start.atDay(1).toString();
+    }
+
+    /**
+     * @return The last day of the range in {@code yyyy-MM-dd} format.
+     */
+    public String endDay() {
+        return end.atEndOfMonth().toString();
+    }
+}
@@ -0,0 +1,70 @@
+package com.similarweb.util;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Helpers for the date strings used by the SimilarWeb API, which are either {@code yyyy-MM} or {@code yyyy-MM-dd}.
+ */
+public final class SwDates {
+    private SwDates() {
+    }
+
+    /**
+     * Parses the month of a SimilarWeb date string.
+     *
+     * @param date A date in {@code yyyy-MM} or {@code yyyy-MM-dd} format.
+     * @return The month the date falls into.
+     */
+    public static YearMonth toMonth(String date) {
+        return YearMonth.parse(date.length() > 7 ? date.substring(0, 7) : date);
+    }
+
+    /**
+     * Parses the day of a SimilarWeb date string. A month stands for its first day, which is the date SimilarWeb
+     * reports monthly points under.
+     *
+     * @param date A date in {@code yyyy-MM} or {@code yyyy-MM-dd} format, possibly followed by a time.
+     * @return The day the date stands for.
+     */
+    public static LocalDate toDay(String date) {
+        if (date.length() == 7) {
+            return YearMonth.parse(date).atDay(1);
+        }
+
+        return LocalDate.parse(date.length() > 10 ? date.substring(0, 10) : date);
+    }
+
+    /**
+     * Parses the last day of a SimilarWeb date string. A month stands for its last day.
+     *
+     * @param date A date in {@code yyyy-MM} or {@code yyyy-MM-dd} format, possibly followed by a time.
+     * @return The last day the date stands for.
+     */
+    public static LocalDate toLastDay(String date) {
+        if (date.length() == 7) {
+            return YearMonth.parse(date).atEndOfMonth();
+        }
+
+        return toDay(date);
+    }
+
+    /**
+     * @return The current month in UTC, which is the month SimilarWeb reports month-to-date data for.
+     */
+    public static YearMonth currentMonth() {
+        return YearMonth.now(ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns whether a window ending at the given date can still change upstream, i.e. it reaches into the current
+     * month or asks for the latest available data.
+     *
+     * @param endDate The end of the window, or null for the latest available data.
+     * @return true if the window is still open.
+     */
+    public static boolean isOpen(String endDate) {
+        return endDate == null || !toMonth(endDate).isBefore(currentMonth());
+    }
+}
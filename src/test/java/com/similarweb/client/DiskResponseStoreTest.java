@@ -0,0 +1,107 @@
+package com.similarweb.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class DiskResponseStoreTest {
+    private static final int LAST_SLOT = DiskResponseStore.INITIAL_CAPACITY - 1;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void probesPastTheEndOfTheIndexIntoItsFirstSlots() throws IOException {
+        List<String> keys = keysInSlot(LAST_SLOT, 3);
+        keys.addAll(keysInSlot(0, 1));
+
+        try (DiskResponseStore store = DiskResponseStore.open(directory)) {
+            for (String key : keys) {
+                store.put(key, body(key));
+            }
+
+            assertEquals(keys.size(), store.size());
+            for (String key : keys) {
+                assertArrayEquals(body(key), store.get(key).orElseThrow());
+            }
+            assertFalse(store.get(keysInSlot(LAST_SLOT, 4).get(3)).isPresent());
+        }
+    }
+
+    @Test
+    void putKeepsTheFirstBodyOfAKey() throws IOException {
+        try (DiskResponseStore store = DiskResponseStore.open(directory)) {
+            store.put("key", body("first"));
+            store.put("key", body("second"));
+
+            assertEquals(1, store.size());
+            assertArrayEquals(body("first"), store.get("key").orElseThrow());
+        }
+    }
+
+    @Test
+    void readsATruncatedRecordAsAMissAndDropsIt() throws IOException {
+        try (DiskResponseStore store = DiskResponseStore.open(directory)) {
+            store.put("kept", body("kept"));
+            store.put("truncated", body("truncated"));
+            try (FileChannel data = FileChannel.open(directory.resolve("responses.dat"), StandardOpenOption.WRITE)) {
+                data.truncate(data.size() - 3);
+            }
+
+            assertFalse(store.get("truncated").isPresent());
+            assertEquals(1, store.size());
+            assertArrayEquals(body("kept"), store.get("kept").orElseThrow());
+
+            store.put("truncated", body("again"));
+            assertEquals(2, store.size());
+            assertArrayEquals(body("again"), store.get("truncated").orElseThrow());
+        }
+    }
+
+    @Test
+    void keepsEntriesAcrossRestarts() throws IOException {
+        List<String> keys = keysInSlot(LAST_SLOT, 2);
+        try (DiskResponseStore store = DiskResponseStore.open(directory)) {
+            for (String key : keys) {
+                store.put(key, body(key));
+            }
+        }
+
+        try (DiskResponseStore store = DiskResponseStore.open(directory)) {
+            assertEquals(keys.size(), store.size());
+            for (String key : keys) {
+                assertArrayEquals(body(key), store.get(key).orElseThrow());
+            }
+        }
+    }
+
+    /**
+     * @return The first keys of the form {@code key-N} whose first probed slot is the given one.
+     */
+    private static List<String> keysInSlot(int slot, int count) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; keys.size() < count; i++) {
+            String key = "key-" + i;
+            if (DiskResponseStore.slotOf(key, DiskResponseStore.INITIAL_CAPACITY) == slot) {
+                keys.add(key);
+            }
+        }
+
+        return keys;
+    }
+
+    private static byte[] body(String value) {
+        return ("{\"value\":\"" + value + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+}
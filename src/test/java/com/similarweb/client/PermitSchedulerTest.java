@@ -0,0 +1,115 @@
+package com.similarweb.client;
+
+import com.similarweb.model.request.RequestPriority;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PermitSchedulerTest {
+    private static final long LONG_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+
+    @Test
+    void sharesPermitsByWeightWhileBothClassesWait() {
+        RateLimiter rateLimiter = rateLimiter(Duration.ofMillis(20));
+        PermitScheduler scheduler = new PermitScheduler(Map.of(RequestPriority.INTERACTIVE, 3, RequestPriority.BATCH, 1));
+        scheduler.acquire(rateLimiter, RequestPriority.INTERACTIVE, 0).join();
+
+        List<RequestPriority> granted = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> permits = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            for (RequestPriority priority : List.of(RequestPriority.BATCH, RequestPriority.INTERACTIVE)) {
+                permits.add(scheduler.acquire(rateLimiter, priority, 0)
+                        .thenRun(() -> granted.add(priority)));
+            }
+        }
+        CompletableFuture.allOf(permits.toArray(new CompletableFuture<?>[0])).join();
+
+        // The first batch request is reserved the next permit on arrival, then interactive requests get three permits
+        // for every batch one, instead of alternating in arrival order.
+        assertEquals(List.of(RequestPriority.BATCH, RequestPriority.INTERACTIVE, RequestPriority.INTERACTIVE,
+                RequestPriority.INTERACTIVE, RequestPriority.BATCH, RequestPriority.INTERACTIVE,
+                RequestPriority.BATCH, RequestPriority.BATCH), granted);
+    }
+
+    @Test
+    void handsThePermitOfATimedOutRequestToTheNextInLine() {
+        RateLimiter rateLimiter = rateLimiter(Duration.ofMillis(600));
+        PermitScheduler scheduler = new PermitScheduler(Map.of());
+        scheduler.acquire(rateLimiter, RequestPriority.INTERACTIVE, 0).join();
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> timedOut = scheduler.acquire(rateLimiter, RequestPriority.INTERACTIVE, 100);
+        CompletableFuture<Void> next = scheduler.acquire(rateLimiter, RequestPriority.INTERACTIVE, 0);
+
+        CompletionException e = assertThrows(CompletionException.class, timedOut::join);
+        assertInstanceOf(RequestNotPermitted.class, e.getCause());
+        next.join();
+        // Granted in the next period, the one reserved for the timed out request, rather than in the one after.
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000));
+    }
+
+    @Test
+    void cancelsTheTimeoutOfAGrantedRequest() throws ReflectiveOperationException {
+        RateLimiter rateLimiter = rateLimiter(Duration.ofMillis(200));
+        PermitScheduler scheduler = new PermitScheduler(Map.of());
+        scheduler.acquire(rateLimiter, RequestPriority.INTERACTIVE, 0).join();
+
+        CompletableFuture<Void> waiting = scheduler.acquire(rateLimiter, RequestPriority.INTERACTIVE, LONG_TIMEOUT);
+        assertEquals(1, pendingTimeouts());
+
+        waiting.join();
+        assertEquals(0, pendingTimeouts());
+    }
+
+    @Test
+    void tryAcquireNeverJumpsTheQueue() {
+        RateLimiter rateLimiter = rateLimiter(Duration.ofMillis(200));
+        PermitScheduler scheduler = new PermitScheduler(Map.of());
+        assertTrue(scheduler.tryAcquire(rateLimiter));
+        assertFalse(scheduler.tryAcquire(rateLimiter));
+
+        CompletableFuture<Void> waiting = scheduler.acquire(rateLimiter, RequestPriority.BATCH, 0);
+        assertFalse(scheduler.tryAcquire(rateLimiter));
+        waiting.join();
+    }
+
+    private static RateLimiter rateLimiter(Duration refreshPeriod) {
+        return RateLimiter.of("test", RateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(refreshPeriod)
+                .timeoutDuration(Duration.ofSeconds(5))
+                .build());
+    }
+
+    /**
+     * @return The number of request timeouts still scheduled on the shared timer, i.e. the live tasks due in more than
+     * a minute.
+     */
+    private static long pendingTimeouts() throws ReflectiveOperationException {
+        Field timer = PermitScheduler.class.getDeclaredField("TIMER");
+        timer.setAccessible(true);
+        return ((ScheduledThreadPoolExecutor) timer.get(null)).getQueue().stream()
+                .map(task -> (RunnableScheduledFuture<?>) task)
+                .filter(task -> !task.isCancelled() && task.getDelay(TimeUnit.MINUTES) >= 1)
+                .count();
+    }
+}
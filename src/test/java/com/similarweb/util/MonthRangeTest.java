@@ -0,0 +1,70 @@
+package com.similarweb.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MonthRangeTest {
+
+    @Test
+    void partitionAlignsChunksOnTheCalendar() {
+        List<MonthRange> chunks = MonthRange.of("2020-02", "2022-11").partition(3);
+
+        assertEquals(12, chunks.size());
+        assertEquals(MonthRange.of("2020-02", "2020-03"), chunks.get(0));
+        assertEquals(MonthRange.of("2020-04", "2020-06"), chunks.get(1));
+        assertEquals(MonthRange.of("2021-01", "2021-03"), chunks.get(4));
+        assertEquals(MonthRange.of("2022-10", "2022-11"), chunks.get(11));
+        for (int i = 1; i < chunks.size(); i++) {
+            assertEquals(chunks.get(i - 1).getEnd().plusMonths(1), chunks.get(i).getStart());
+        }
+    }
+
+    @Test
+    void partitionIntoYearsKeepsAMonthInTheSameChunkWhateverTheRange() {
+        assertEquals(List.of(MonthRange.of("2021-05", "2021-12"), MonthRange.of("2022-01", "2022-03")),
+                MonthRange.of("2021-05", "2022-03").partition(12));
+        assertEquals(List.of(MonthRange.of("2021-09", "2021-12"), MonthRange.of("2022-01", "2022-12")),
+                MonthRange.of("2021-09", "2022-12").partition(12));
+    }
+
+    @Test
+    void partitionIntoSingleMonths() {
+        List<MonthRange> chunks = MonthRange.of("2022-11", "2023-02").partition(1);
+
+        assertEquals(List.of(YearMonth.of(2022, 11), YearMonth.of(2022, 12), YearMonth.of(2023, 1),
+                YearMonth.of(2023, 2)), MonthRange.of("2022-11", "2023-02").months());
+        assertEquals(4, chunks.size());
+        for (MonthRange chunk : chunks) {
+            assertEquals(chunk.getStart(), chunk.getEnd());
+        }
+    }
+
+    @Test
+    void partitionKeepsARangeWithinOneChunkWhole() {
+        MonthRange range = MonthRange.of("2023-01-15", "2023-03-31");
+
+        assertEquals(List.of(range), range.partition(3));
+        assertEquals(List.of(range), range.partition(100));
+    }
+
+    @Test
+    void partitionRejectsNonPositiveSizes() {
+        MonthRange range = MonthRange.of("2023-01", "2023-03");
+
+        assertThrows(IllegalArgumentException.class, () -> range.partition(0));
+        assertThrows(IllegalArgumentException.class, () -> range.partition(-1));
+    }
+
+    @Test
+    void daysCoverWholeMonths() {
+        MonthRange range = MonthRange.of("2024-02-10", "2024-02-20");
+
+        assertEquals("2024-02-01", range.startDay());
+        assertEquals("2024-02-29", range.endDay());
+    }
+}